@@ -0,0 +1,71 @@
+package cs2110;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts values of type `T` to and from bytes, for structures that store them in files, such as
+ * the run files of an `ExternalMinPQueue` and the log of a `DurablePacMap`. An encoding need not
+ * record its own length; the caller stores each encoded value's length alongside it.
+ */
+public interface Codec<T> {
+
+    /**
+     * Encodes `Integer` values in 4 bytes.
+     */
+    Codec<Integer> INTEGER = new Codec<>() {
+        @Override
+        public void encode(Integer value, ByteBuffer out) {
+            out.putInt(value);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer in) {
+            return in.getInt();
+        }
+    };
+
+    /**
+     * Encodes `Long` values in 8 bytes.
+     */
+    Codec<Long> LONG = new Codec<>() {
+        @Override
+        public void encode(Long value, ByteBuffer out) {
+            out.putLong(value);
+        }
+
+        @Override
+        public Long decode(ByteBuffer in) {
+            return in.getLong();
+        }
+    };
+
+    /**
+     * Encodes `String` values as UTF-8.
+     */
+    Codec<String> STRING = new Codec<>() {
+        @Override
+        public void encode(String value, ByteBuffer out) {
+            out.put(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String decode(ByteBuffer in) {
+            byte[] bytes = new byte[in.remaining()];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Write `value` at the position of `out`, advancing it. May throw a
+     * `BufferOverflowException` if `out` is too small, in which case it will be retried with a
+     * larger buffer.
+     */
+    void encode(T value, ByteBuffer out);
+
+    /**
+     * Read a value from `in`, whose remaining bytes are exactly those written by `encode()`.
+     */
+    T decode(ByteBuffer in);
+}
@@ -0,0 +1,297 @@
+package cs2110;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A map with keys of type `K` and values of type `V` that iterates over its keys in insertion
+ * order, laid out like CPython's dict. Entries are appended to dense parallel arrays of hashes,
+ * keys, and values, and a separate open-addressing hash table (the index) stores only the
+ * position of each entry in those arrays. The index uses `short` slots while the entry arrays
+ * are small enough, and `int` slots beyond that.
+ *
+ * Compared with `ProbingPacMap`, whose table of `Entry` objects is at least half empty, this
+ * needs no per-entry objects and keeps the sparse part of the table to a few bytes per slot.
+ * Iteration is a linear scan of the entry arrays, which hold only live entries apart from the
+ * holes left by removals; holes are squeezed out whenever the arrays are rebuilt. Overwriting a
+ * key keeps its position; removing it and putting it again moves it to the end.
+ */
+public class CompactPacMap<K, V> implements PacMap<K, V> {
+
+    /**
+     * An index slot that has never held an entry.
+     */
+    private static final int EMPTY = -1;
+
+    /**
+     * An index slot whose entry was removed. Lookups probe past it.
+     */
+    private static final int DUMMY = -2;
+
+    /**
+     * The index length of a new map.
+     */
+    private static final int INITIAL_INDEX_LENGTH = 8;
+
+    /**
+     * The number of entries an index with `short` slots may address.
+     */
+    private static final int SHORT_INDEX_LIMIT = Short.MAX_VALUE;
+
+    /**
+     * The index, when the entry arrays have fewer than `SHORT_INDEX_LIMIT` elements, or null.
+     * Exactly one of `smallIndex` and `largeIndex` is non-null. Each slot holds `EMPTY`, `DUMMY`,
+     * or the position in the entry arrays of a live entry. If the map contains a key whose mixed
+     * hash maps to slot `i`, its slot is reachable by linear probing from `i` without passing an
+     * `EMPTY` slot.
+     */
+    private short[] smallIndex;
+
+    /**
+     * The index, when the entry arrays have at least `SHORT_INDEX_LIMIT` elements, or null.
+     */
+    private int[] largeIndex;
+
+    /**
+     * `indexLength - 1`, where the index length is a power of 2.
+     */
+    private int mask;
+
+    /**
+     * The mixed hash code of the key of each entry, in insertion order.
+     */
+    private int[] hashes;
+
+    /**
+     * The key of each entry, in insertion order, or null for a removed entry.
+     */
+    private Object[] keys;
+
+    /**
+     * The value of each entry, in insertion order, or null for a removed entry.
+     */
+    private Object[] values;
+
+    /**
+     * The number of positions of the entry arrays in use, including removed entries. Satisfies
+     * `size <= used <= keys.length`, and `keys.length` is two thirds of the index length, so the
+     * index is never more than two thirds full.
+     */
+    private int used;
+
+    /**
+     * The number of live entries.
+     */
+    private int size;
+
+    /**
+     * Create a new empty `CompactPacMap`.
+     */
+    public CompactPacMap() {
+        allocate(INITIAL_INDEX_LENGTH);
+    }
+
+    /**
+     * Replace the index and entry arrays with empty ones for an index of length `indexLength`.
+     * Requires `indexLength` is a power of 2.
+     */
+    private void allocate(int indexLength) {
+        int capacity = indexLength / 3 * 2;
+        if (capacity < SHORT_INDEX_LIMIT) {
+            smallIndex = new short[indexLength];
+            Arrays.fill(smallIndex, (short) EMPTY);
+            largeIndex = null;
+        } else {
+            largeIndex = new int[indexLength];
+            Arrays.fill(largeIndex, EMPTY);
+            smallIndex = null;
+        }
+        mask = indexLength - 1;
+        hashes = new int[capacity];
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        used = 0;
+    }
+
+    private int slotAt(int i) {
+        return smallIndex != null ? smallIndex[i] : largeIndex[i];
+    }
+
+    private void setSlot(int i, int position) {
+        if (smallIndex != null) {
+            smallIndex[i] = (short) position;
+        } else {
+            largeIndex[i] = position;
+        }
+    }
+
+    /**
+     * Return the hash code of `key`, with its high bits folded into its low bits so that keys
+     * whose hash codes differ only in their high bits spread over the index.
+     */
+    private static int mix(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Return the index slot holding `key`'s position if `key` is in this map. Otherwise return
+     * `-1 - s`, where `s` is the slot a new entry for `key` should occupy: the first `DUMMY` slot
+     * on its probe sequence, or the `EMPTY` slot that ends it.
+     */
+    private int findSlot(Object key, int hash) {
+        int firstDummy = -1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int position = slotAt(i);
+            if (position == EMPTY) {
+                return -1 - (firstDummy == -1 ? i : firstDummy);
+            } else if (position == DUMMY) {
+                if (firstDummy == -1) {
+                    firstDummy = i;
+                }
+            } else if (hashes[position] == hash && keys[position].equals(key)) {
+                return i;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return findSlot(key, mix(key)) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int slot = findSlot(key, mix(key));
+        if (slot < 0) {
+            throw new NoSuchElementException();
+        }
+        return (V) values[slotAt(slot)];
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int hash = mix(key);
+        int slot = findSlot(key, hash);
+        if (slot >= 0) {
+            values[slotAt(slot)] = value;
+            return;
+        }
+        if (used == keys.length) {
+            rebuild();
+            slot = findSlot(key, hash);
+        }
+        hashes[used] = hash;
+        keys[used] = key;
+        values[used] = value;
+        setSlot(-1 - slot, used);
+        used++;
+        size++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        int slot = findSlot(key, mix(key));
+        if (slot < 0) {
+            throw new NoSuchElementException();
+        }
+        int position = slotAt(slot);
+        V value = (V) values[position];
+        keys[position] = null;
+        values[position] = null;
+        setSlot(slot, DUMMY);
+        size--;
+        return value;
+    }
+
+    /**
+     * Rebuild the index and entry arrays with room for twice the live entries (at least), keeping
+     * the live entries in order and dropping removed ones and `DUMMY` slots. Runs in O(N) time.
+     */
+    private void rebuild() {
+        int[] oldHashes = hashes;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldUsed = used;
+
+        int indexLength = INITIAL_INDEX_LENGTH;
+        while (indexLength / 3 * 2 < Math.max(size * 2, size + 1)) {
+            indexLength *= 2;
+        }
+        allocate(indexLength);
+        for (int p = 0; p < oldUsed; p++) {
+            if (oldKeys[p] == null) {
+                continue;
+            }
+            int i = oldHashes[p] & mask;
+            while (slotAt(i) != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            hashes[used] = oldHashes[p];
+            keys[used] = oldKeys[p];
+            values[used] = oldValues[p];
+            setSlot(i, used);
+            used++;
+        }
+    }
+
+    /**
+     * Return the length of the index, for tests.
+     */
+    int indexLength() {
+        return mask + 1;
+    }
+
+    /**
+     * Return whether the index currently uses `short` slots, for tests.
+     */
+    boolean hasShortIndex() {
+        return smallIndex != null;
+    }
+
+    /**
+     * Return an iterator over the keys of this map in insertion order. This map must not be
+     * structurally modified while any such iterators are alive.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new Iterator<>() {
+
+            /**
+             * The position of the next live entry, or `used` if there is none.
+             */
+            private int next = skipRemoved(0);
+
+            private int skipRemoved(int p) {
+                while (p < used && keys[p] == null) {
+                    p++;
+                }
+                return p;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < used;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public K next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                K key = (K) keys[next];
+                next = skipRemoved(next + 1);
+                return key;
+            }
+        };
+    }
+}
@@ -0,0 +1,133 @@
+package cs2110;
+
+/**
+ * An immutable directed graph with non-negative double edge weights, whose vertices are the ints
+ * `[0..vertexCount())`. Adjacency is stored in compressed-sparse-row (CSR) form: the out-edges of
+ * each vertex occupy a contiguous range of primitive arrays, so traversing them touches no objects.
+ */
+public class CsrGraph {
+
+    /**
+     * The out-edges of vertex `v` are the edge indices `[offsets[v]..offsets[v+1])`. Satisfies
+     * `offsets[0] == 0`, `offsets[vertexCount()] == edgeCount()`, and is non-decreasing.
+     */
+    private final int[] offsets;
+
+    /**
+     * The head (target vertex) of each edge.
+     */
+    private final int[] targets;
+
+    /**
+     * The weight of each edge. All weights are non-negative and finite.
+     */
+    private final double[] weights;
+
+    /**
+     * Create a graph from its CSR arrays, without copying them. Requires the arrays satisfy the
+     * invariants of the corresponding fields.
+     */
+    private CsrGraph(int[] offsets, int[] targets, double[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Return a graph with `vertexCount` vertices and an edge from `from[i]` to `to[i]` with weight
+     * `weight[i]` for each `i`. Parallel edges and self-loops are kept. Runs in O(V + E) time.
+     * Throws an `IllegalArgumentException` if the arrays have different lengths, an endpoint is out
+     * of range, or a weight is negative or not finite.
+     */
+    public static CsrGraph fromEdges(int vertexCount, int[] from, int[] to, double[] weight) {
+        if (vertexCount < 0 || from.length != to.length || from.length != weight.length) {
+            throw new IllegalArgumentException();
+        }
+        int[] offsets = new int[vertexCount + 1];
+        for (int i = 0; i < from.length; i++) {
+            if (from[i] < 0 || from[i] >= vertexCount || to[i] < 0 || to[i] >= vertexCount
+                    || !(weight[i] >= 0) || weight[i] == Double.POSITIVE_INFINITY) {
+                throw new IllegalArgumentException("bad edge " + i);
+            }
+            offsets[from[i] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        // Counting sort of the edges by tail; `next[v]` is the next free slot for vertex `v`.
+        int[] next = new int[vertexCount];
+        System.arraycopy(offsets, 0, next, 0, vertexCount);
+        int[] targets = new int[from.length];
+        double[] weights = new double[from.length];
+        for (int i = 0; i < from.length; i++) {
+            int e = next[from[i]]++;
+            targets[e] = to[i];
+            weights[e] = weight[i];
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    /**
+     * Return the number of vertices in this graph.
+     */
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Return the number of edges in this graph.
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Return the index of the first out-edge of vertex `v`. Requires `0 <= v < vertexCount()`.
+     */
+    public int firstEdge(int v) {
+        return offsets[v];
+    }
+
+    /**
+     * Return one past the index of the last out-edge of vertex `v`. Requires
+     * `0 <= v < vertexCount()`.
+     */
+    public int endEdge(int v) {
+        return offsets[v + 1];
+    }
+
+    /**
+     * Return the number of out-edges of vertex `v`. Requires `0 <= v < vertexCount()`.
+     */
+    public int outDegree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Return the target vertex of edge `e`. Requires `0 <= e < edgeCount()`.
+     */
+    public int target(int e) {
+        return targets[e];
+    }
+
+    /**
+     * Return the weight of edge `e`. Requires `0 <= e < edgeCount()`.
+     */
+    public double weight(int e) {
+        return weights[e];
+    }
+
+    /**
+     * Return the graph with every edge of this graph reversed. Runs in O(V + E) time.
+     */
+    public CsrGraph reverse() {
+        int n = vertexCount();
+        int[] from = new int[edgeCount()];
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                from[e] = v;
+            }
+        }
+        return fromEdges(n, targets, from, weights);
+    }
+}
@@ -0,0 +1,277 @@
+package cs2110;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe queue of distinct jobs of type `T`, each due at a deadline, from which consumers
+ * block until the earliest deadline arrives. Deadlines are kept in a `MinPQueue`, so a job can be
+ * rescheduled by calling `addOrUpdate()` again with a new deadline.
+ *
+ * Deadlines are measured on the `System.nanoTime()` clock. Waiting uses a `ReentrantLock` and its
+ * `Condition` rather than `synchronized`, so that virtual threads blocked in `take()` unmount from
+ * their carrier threads instead of pinning them. As in `java.util.concurrent.DelayQueue`, only one
+ * consumer (the "leader") waits for the earliest deadline with a timeout; the others wait
+ * indefinitely until the leader hands off, which avoids a thundering herd of timed wakeups. When a
+ * job is added ahead of the current earliest deadline, the leader is woken immediately so that it
+ * can wait for the new deadline instead.
+ */
+public class DelayScheduler<T> {
+
+    /**
+     * The largest magnitude of a delay from now, about 104 days. Longer delays are clamped to it,
+     * measured from the time they are scheduled, so a job is never made due early however long
+     * the scheduler has been running.
+     */
+    private static final long MAX_DELAY = 1L << 53;
+
+    /**
+     * The pending jobs, prioritized by their deadlines relative to `origin`. These are exact as
+     * doubles until about 104 days after `origin`, and after that are rounded by at most a few
+     * hundred nanoseconds even after decades.
+     */
+    private final MinPQueue<T> jobs = new MinPQueue<>();
+
+    /**
+     * The `System.nanoTime()` at which this scheduler's clock starts. Priorities are stored
+     * relative to it so that they stay small enough to be represented (nearly) exactly as doubles.
+     */
+    private final long origin;
+
+    /**
+     * Guards `jobs` and `leader`.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Signalled when a job becomes the earliest, or when the leader stops waiting.
+     */
+    private final Condition available = lock.newCondition();
+
+    /**
+     * The thread waiting for the earliest deadline with a timeout, or null if there is none.
+     */
+    private Thread leader;
+
+    /**
+     * Create an empty scheduler.
+     */
+    public DelayScheduler() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Create an empty scheduler whose clock starts at `origin`, a value of `System.nanoTime()`,
+     * for tests that simulate a scheduler that has been running a long time.
+     */
+    DelayScheduler(long origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * Return the current time on the `System.nanoTime()` clock, relative to `origin`.
+     */
+    private long now() {
+        return System.nanoTime() - origin;
+    }
+
+    /**
+     * Schedule `job` to become due at `deadline`, a value of `System.nanoTime()`. If `job` is
+     * already scheduled, its deadline is changed to `deadline`. A deadline more than about 104
+     * days away is clamped to that distance from now.
+     */
+    public void addOrUpdate(T job, long deadline) {
+        long now = System.nanoTime();
+        // `System.nanoTime()` values may wrap, so only their difference is meaningful.
+        scheduleAfter(job, now - origin, deadline - now);
+    }
+
+    /**
+     * Schedule `job` to become due `delay` nanoseconds after `now`, relative to `origin`, with
+     * `delay` clamped to `[-MAX_DELAY..MAX_DELAY]`.
+     */
+    private void scheduleAfter(T job, long now, long delay) {
+        long clamped = Math.max(-MAX_DELAY, Math.min(MAX_DELAY, delay));
+        lock.lock();
+        try {
+            jobs.addOrUpdate(job, now + clamped);
+            if (jobs.peek().equals(job)) {
+                // The earliest deadline moved; whoever waits for it must wait for the new one.
+                leader = null;
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Schedule `job` to become due after `delay` in units of `unit` from now. If `job` is already
+     * scheduled, it is rescheduled. A delay longer than about 104 days, including one too long to
+     * represent, makes `job` due in about 104 days, rather than overflowing into the past.
+     */
+    public void schedule(T job, long delay, TimeUnit unit) {
+        // `toNanos()` saturates rather than overflowing, and the clamp takes it from there.
+        scheduleAfter(job, now(), unit.toNanos(delay));
+    }
+
+    /**
+     * Unschedule `job` and return whether it was scheduled.
+     */
+    public boolean cancel(T job) {
+        lock.lock();
+        try {
+            if (!jobs.contains(job)) {
+                return false;
+            }
+            jobs.remove(job);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return whether `job` is scheduled.
+     */
+    public boolean contains(T job) {
+        lock.lock();
+        try {
+            return jobs.contains(job);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the deadline of `job`, as a value of `System.nanoTime()`. Throws a
+     * `NoSuchElementException` if `job` is not scheduled.
+     */
+    public long deadlineOf(T job) {
+        lock.lock();
+        try {
+            return origin + (long) jobs.priorityOf(job);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of scheduled jobs, whether or not they are due.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return jobs.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove and return the job with the earliest deadline, waiting until that deadline arrives
+     * if necessary. Throws an `InterruptedException` if interrupted while waiting.
+     */
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                if (jobs.isEmpty()) {
+                    available.await();
+                    continue;
+                }
+                long delay = (long) jobs.minPriority() - now();
+                if (delay <= 0) {
+                    return jobs.remove();
+                }
+                if (leader != null) {
+                    available.await();
+                    continue;
+                }
+                Thread self = Thread.currentThread();
+                leader = self;
+                try {
+                    available.awaitNanos(delay);
+                } finally {
+                    if (leader == self) {
+                        leader = null;
+                    }
+                }
+            }
+        } finally {
+            handOff();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove and return the job with the earliest deadline, waiting up to `timeout` in units of
+     * `unit` for it to become due. Returns null if no job became due in time. Throws an
+     * `InterruptedException` if interrupted while waiting.
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                if (jobs.isEmpty()) {
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    remaining = available.awaitNanos(remaining);
+                    continue;
+                }
+                long delay = (long) jobs.minPriority() - now();
+                if (delay <= 0) {
+                    return jobs.remove();
+                }
+                if (remaining <= 0) {
+                    return null;
+                }
+                if (leader != null || remaining < delay) {
+                    remaining = available.awaitNanos(remaining);
+                    continue;
+                }
+                Thread self = Thread.currentThread();
+                leader = self;
+                try {
+                    remaining -= delay - available.awaitNanos(delay);
+                } finally {
+                    if (leader == self) {
+                        leader = null;
+                    }
+                }
+            }
+        } finally {
+            handOff();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove and return the job with the earliest deadline if that deadline has arrived, or
+     * return null without waiting otherwise.
+     */
+    public T poll() {
+        lock.lock();
+        try {
+            if (jobs.isEmpty() || (long) jobs.minPriority() > now()) {
+                return null;
+            }
+            return jobs.remove();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * If no consumer is waiting for the earliest deadline and a job remains, wake another
+     * consumer to take over that role. Requires `lock` is held.
+     */
+    private void handOff() {
+        if (leader == null && !jobs.isEmpty()) {
+            available.signal();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package cs2110;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Computes single-source shortest-path distances on a `CsrGraph` in parallel using the
+ * delta-stepping algorithm of Meyer and Sanders. Tentative distances are kept in buckets of width
+ * `delta`. The vertices of the lowest non-empty bucket are settled together: their light edges
+ * (weight at most `delta`) are relaxed in parallel on a fork-join pool until the bucket stays
+ * empty, and then their heavy edges are relaxed once. A small `delta` approaches Dijkstra's
+ * algorithm; a large one approaches Bellman-Ford.
+ */
+public class DeltaStepping {
+
+    /**
+     * The minimum number of vertices a fork-join task relaxes before splitting further. Phases
+     * with fewer vertices than this run on the calling thread.
+     */
+    private static final int SPLIT_THRESHOLD = 512;
+
+    /**
+     * A growable list of ints.
+     */
+    private static final class IntList {
+
+        int[] items = new int[16];
+
+        int size;
+
+        void add(int x) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = x;
+        }
+
+        void addAll(IntList other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.items[i]);
+            }
+        }
+    }
+
+    /**
+     * The graph being searched.
+     */
+    private final CsrGraph graph;
+
+    /**
+     * The pool on which relaxations run.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The bucket width chosen from the graph's edge weights.
+     */
+    private final double delta;
+
+    /**
+     * The largest edge weight in `graph`.
+     */
+    private final double maxWeight;
+
+    /**
+     * Create a solver for `graph` that runs on `pool`, with a bucket width chosen automatically
+     * by `chooseDelta()`.
+     */
+    public DeltaStepping(CsrGraph graph, ForkJoinPool pool) {
+        this(graph, pool, chooseDelta(graph));
+    }
+
+    /**
+     * Create a solver for `graph` that runs on `pool` with bucket width `delta`. Requires
+     * `delta > 0`.
+     */
+    public DeltaStepping(CsrGraph graph, ForkJoinPool pool, double delta) {
+        if (!(delta > 0) || delta == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException();
+        }
+        this.graph = graph;
+        this.pool = pool;
+        this.delta = delta;
+        double max = 0;
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            max = Math.max(max, graph.weight(e));
+        }
+        maxWeight = max;
+    }
+
+    /**
+     * Return a bucket width for `graph` derived from its edge-weight statistics: the largest edge
+     * weight divided by the average out-degree. This is the `Theta(1/d)` width analyzed by Meyer and
+     * Sanders, scaled to the weights actually present, so that a bucket's light-edge phases
+     * typically re-relax few vertices while still settling many at once. Falls back to the mean
+     * positive weight, or 1, if that width is degenerate.
+     */
+    public static double chooseDelta(CsrGraph graph) {
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+        double max = 0;
+        double sum = 0;
+        int positive = 0;
+        for (int e = 0; e < m; e++) {
+            double w = graph.weight(e);
+            max = Math.max(max, w);
+            if (w > 0) {
+                sum += w;
+                positive++;
+            }
+        }
+        if (positive == 0) {
+            return 1;
+        }
+        double averageDegree = (double) m / Math.max(1, n);
+        double delta = max / Math.max(1, averageDegree);
+        return delta > 0 ? delta : sum / positive;
+    }
+
+    /**
+     * Return the bucket width used by this solver.
+     */
+    public double delta() {
+        return delta;
+    }
+
+    /**
+     * Return the length of a shortest path from `source` to every vertex, indexed by vertex, with
+     * positive infinity for unreachable vertices. Requires `source` is in the graph.
+     */
+    public double[] distancesFrom(int source) {
+        int n = graph.vertexCount();
+        // Distances are stored as raw bits; for non-negative doubles, comparing the bits as longs
+        // orders them the same way as comparing the doubles, so `relax()` can CAS on longs.
+        AtomicLongArray dist = new AtomicLongArray(n);
+        long infinity = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+        for (int v = 0; v < n; v++) {
+            dist.set(v, infinity);
+        }
+        dist.set(source, Double.doubleToRawLongBits(0));
+
+        // Pending vertices have distances within `maxWeight` of the current bucket, so a ring of
+        // this many buckets never wraps onto itself.
+        int ringSize = (int) Math.min(Integer.MAX_VALUE - 8, (long) (maxWeight / delta) + 2);
+        IntList[] buckets = new IntList[ringSize];
+        for (int b = 0; b < ringSize; b++) {
+            buckets[b] = new IntList();
+        }
+        long current = 0;
+        buckets[0].add(source);
+        int pending = 1;
+
+        // `seen[v] == round` iff `v` is already in the current phase's frontier.
+        int[] seen = new int[n];
+        int round = 0;
+
+        while (pending > 0) {
+            // Advance to the next non-empty bucket.
+            while (buckets[(int) (current % ringSize)].size == 0) {
+                current++;
+            }
+            IntList settled = new IntList();
+            IntList bucket;
+            while ((bucket = buckets[(int) (current % ringSize)]).size > 0) {
+                buckets[(int) (current % ringSize)] = new IntList();
+                pending -= bucket.size;
+                round++;
+                IntList frontier = new IntList();
+                for (int i = 0; i < bucket.size; i++) {
+                    int v = bucket.items[i];
+                    // Skip stale entries for vertices since moved to a lower bucket, and
+                    // duplicates.
+                    if (bucketOf(dist, v) == current && seen[v] != round) {
+                        seen[v] = round;
+                        frontier.add(v);
+                    }
+                }
+                settled.addAll(frontier);
+                pending += distribute(dist, relaxAll(dist, frontier, true), buckets, ringSize);
+            }
+            pending += distribute(dist, relaxAll(dist, settled, false), buckets, ringSize);
+            current++;
+        }
+
+        double[] result = new double[n];
+        for (int v = 0; v < n; v++) {
+            result[v] = Double.longBitsToDouble(dist.get(v));
+        }
+        return result;
+    }
+
+    /**
+     * Return the index of the bucket holding vertex `v`'s tentative distance.
+     */
+    private long bucketOf(AtomicLongArray dist, int v) {
+        return (long) (Double.longBitsToDouble(dist.get(v)) / delta);
+    }
+
+    /**
+     * Add every vertex in `improved` to the bucket of its current tentative distance, and return
+     * how many were added.
+     */
+    private int distribute(AtomicLongArray dist, IntList improved, IntList[] buckets,
+            int ringSize) {
+        for (int i = 0; i < improved.size; i++) {
+            int v = improved.items[i];
+            buckets[(int) (bucketOf(dist, v) % ringSize)].add(v);
+        }
+        return improved.size;
+    }
+
+    /**
+     * Relax the light (if `light`) or heavy (otherwise) out-edges of every vertex in `vertices`,
+     * in parallel if there are enough of them, and return the vertices whose distances improved
+     * (possibly with duplicates).
+     */
+    private IntList relaxAll(AtomicLongArray dist, IntList vertices, boolean light) {
+        if (vertices.size < SPLIT_THRESHOLD) {
+            return relaxRange(dist, vertices, 0, vertices.size, light);
+        }
+        return pool.invoke(new RelaxTask(dist, vertices, 0, vertices.size, light));
+    }
+
+    /**
+     * Relax the light or heavy out-edges of `vertices.items[lo..hi)` on the calling thread.
+     */
+    private IntList relaxRange(AtomicLongArray dist, IntList vertices, int lo, int hi,
+            boolean light) {
+        IntList improved = new IntList();
+        for (int i = lo; i < hi; i++) {
+            int u = vertices.items[i];
+            double du = Double.longBitsToDouble(dist.get(u));
+            for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                double w = graph.weight(e);
+                if ((w <= delta) == light) {
+                    int v = graph.target(e);
+                    if (relax(dist, v, du + w)) {
+                        improved.add(v);
+                    }
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Atomically lower the tentative distance of `v` to `candidate` if that is an improvement,
+     * and return whether it was.
+     */
+    private static boolean relax(AtomicLongArray dist, int v, double candidate) {
+        long bits = Double.doubleToRawLongBits(candidate);
+        long old = dist.get(v);
+        while (bits < old) {
+            if (dist.compareAndSet(v, old, bits)) {
+                return true;
+            }
+            old = dist.get(v);
+        }
+        return false;
+    }
+
+    /**
+     * Relaxes a range of a frontier, splitting in half until ranges are small.
+     */
+    @SuppressWarnings("serial")
+    private final class RelaxTask extends RecursiveTask<IntList> {
+
+        private final AtomicLongArray dist;
+        private final IntList vertices;
+        private final int lo;
+        private final int hi;
+        private final boolean light;
+
+        RelaxTask(AtomicLongArray dist, IntList vertices, int lo, int hi, boolean light) {
+            this.dist = dist;
+            this.vertices = vertices;
+            this.lo = lo;
+            this.hi = hi;
+            this.light = light;
+        }
+
+        @Override
+        protected IntList compute() {
+            if (hi - lo <= SPLIT_THRESHOLD) {
+                return relaxRange(dist, vertices, lo, hi, light);
+            }
+            int mid = (lo + hi) >>> 1;
+            RelaxTask left = new RelaxTask(dist, vertices, lo, mid, light);
+            left.fork();
+            IntList right = new RelaxTask(dist, vertices, mid, hi, light).compute();
+            IntList result = left.join();
+            result.addAll(right);
+            return result;
+        }
+    }
+}
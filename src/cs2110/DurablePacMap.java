@@ -0,0 +1,814 @@
+package cs2110;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * A `PacMap` whose contents survive crashes. Every `put()` and `remove()` is applied to an
+ * in-memory `ProbingPacMap` and appended as a checksummed record to a write-ahead log in a
+ * directory, written through a `FileChannel`. Opening a map on a directory rebuilds it by loading
+ * the latest checkpoint (a compacted image of the map) and replaying the logs written since. A torn
+ * record at the end of the log, left by a crash in the middle of a write, is discarded.
+ *
+ * When a mutation returns depends on the map's `Durability`. With `GROUP`, writers that arrive
+ * while a sync is in progress wait for the next one together, so that one `force()` makes a whole
+ * batch of records durable and throughput grows with the number of concurrent writers instead of
+ * being capped at one sync per operation. A mutation is visible to other threads as soon as it is
+ * made, possibly before it is durable.
+ *
+ * Once the log holds many more records than the map has entries, it is compacted in the
+ * background: writers switch to a new log, and a background thread writes the map's entries as of
+ * the switch to a new checkpoint, then deletes the older checkpoint and logs. A crash at any point
+ * of this leaves either the old checkpoint with both logs or the new checkpoint with the new log.
+ *
+ * All methods are thread-safe except iteration. Keys and values are converted to bytes with
+ * `Codec`s.
+ */
+public class DurablePacMap<K, V> implements PacMap<K, V>, Closeable {
+
+    /**
+     * How long a mutation waits for its record to reach the disk.
+     */
+    public enum Durability {
+        /**
+         * Records are handed to the operating system in large writes and forced only by
+         * compaction and `close()`. A mutation survives a crash of this process once written, but
+         * may be lost if the machine crashes.
+         */
+        NONE,
+
+        /**
+         * A mutation returns once its record has been forced to disk, sharing each force with the
+         * writers that arrived while the previous one was in progress.
+         */
+        GROUP,
+
+        /**
+         * A mutation forces its own record to disk before returning, one mutation at a time.
+         */
+        EACH
+    }
+
+    /**
+     * The type tags of log records.
+     */
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    /**
+     * The size of a record header: a 1-byte type, a 4-byte key length, and a 4-byte value length.
+     */
+    private static final int HEADER_SIZE = 9;
+
+    /**
+     * The size of the CRC32C checksum that ends each record, covering the rest of it.
+     */
+    private static final int CHECKSUM_SIZE = 4;
+
+    /**
+     * The size at which buffered records are written out, in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The default smallest number of log records that triggers a compaction.
+     */
+    public static final int DEFAULT_MIN_COMPACTION_RECORDS = 1 << 16;
+
+    /**
+     * A compaction is triggered when the log holds more than this many records per entry.
+     */
+    private static final int COMPACTION_RATIO = 2;
+
+    /**
+     * Encodes records into a buffer. Not thread-safe; each thread that writes records needs its
+     * own.
+     */
+    private final class RecordWriter {
+
+        private ByteBuffer keyScratch = ByteBuffer.allocate(64);
+
+        private ByteBuffer valueScratch = ByteBuffer.allocate(64);
+
+        private final CRC32C crc = new CRC32C();
+
+        /**
+         * Append a record of type `type` for `key` and `value` (ignored for `REMOVE`) to `out`,
+         * and return `out`, or a larger copy of it if the record did not fit.
+         */
+        ByteBuffer append(ByteBuffer out, byte type, K key, V value) {
+            keyScratch = encode(keyCodec, key, keyScratch);
+            if (type == PUT) {
+                valueScratch = encode(valueCodec, value, valueScratch);
+            } else {
+                valueScratch.clear().flip();
+            }
+            int size = HEADER_SIZE + keyScratch.remaining() + valueScratch.remaining()
+                    + CHECKSUM_SIZE;
+            if (out.remaining() < size) {
+                ByteBuffer larger = ByteBuffer.allocate(
+                        Math.max(out.capacity() * 2, out.position() + size));
+                out = larger.put(out.flip());
+            }
+            int start = out.position();
+            out.put(type);
+            out.putInt(keyScratch.remaining());
+            out.putInt(valueScratch.remaining());
+            out.put(keyScratch);
+            out.put(valueScratch);
+            crc.reset();
+            crc.update(out.slice(start, out.position() - start));
+            out.putInt((int) crc.getValue());
+            return out;
+        }
+    }
+
+    /**
+     * Encode `item` with `codec` into `scratch`, growing it as needed, and return it flipped for
+     * reading.
+     */
+    private static <T> ByteBuffer encode(Codec<T> codec, T item, ByteBuffer scratch) {
+        while (true) {
+            scratch.clear();
+            try {
+                codec.encode(item, scratch);
+                return scratch.flip();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    /**
+     * The directory holding the checkpoint and log files.
+     */
+    private final Path directory;
+
+    private final Codec<K> keyCodec;
+
+    private final Codec<V> valueCodec;
+
+    private final Durability durability;
+
+    /**
+     * The smallest number of log records that triggers a compaction.
+     */
+    private final int minCompactionRecords;
+
+    /**
+     * The contents of this map, including mutations that are not yet durable.
+     */
+    private final PacMap<K, V> map = new ProbingPacMap<>();
+
+    /**
+     * Guards `map` and every field below.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Held for the whole of a compaction, so that compactions run one at a time and each
+     * deletes only files older than its own checkpoint.
+     */
+    private final ReentrantLock compactionLock = new ReentrantLock();
+
+    /**
+     * Signalled when a group sync finishes.
+     */
+    private final Condition synced = lock.newCondition();
+
+    /**
+     * Encodes the records of mutations.
+     */
+    private final RecordWriter writer = new RecordWriter();
+
+    /**
+     * Runs compactions.
+     */
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "DurablePacMap compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The generation of the current log. Checkpoint `g` holds the entries of this map as of the
+     * start of log `g`.
+     */
+    private long generation;
+
+    /**
+     * The current log, positioned at its end.
+     */
+    private FileChannel log;
+
+    /**
+     * Records appended but not yet written to `log`, ready for writing after a flip.
+     */
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * An empty buffer to swap with `pending` while a group sync writes it, or null during one.
+     */
+    private ByteBuffer spare = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * The total number of bytes of records ever appended. A record's sequence number is this
+     * total just after it was appended.
+     */
+    private long appended;
+
+    /**
+     * The sequence number of the last record known to be written (and forced, unless the
+     * durability is `NONE`).
+     */
+    private long durable;
+
+    /**
+     * Whether a thread is writing and forcing records without holding `lock`.
+     */
+    private boolean syncing;
+
+    /**
+     * The number of records in the logs since the last checkpoint.
+     */
+    private long logRecords;
+
+    /**
+     * Whether a compaction has been submitted and has not finished.
+     */
+    private boolean compactionPending;
+
+    /**
+     * The number of times records have been forced to disk.
+     */
+    private long syncCount;
+
+    /**
+     * The exception that made writing fail, after which this map refuses mutations since its
+     * contents may no longer match the disk, or null.
+     */
+    private IOException failure;
+
+    private boolean closed;
+
+    /**
+     * Open the map stored in `directory` (creating an empty one if it holds none), converting keys
+     * and values with `keyCodec` and `valueCodec`, and compacting with the default threshold.
+     * Requires `directory` exists and is used by no other open map.
+     */
+    public DurablePacMap(Path directory, Codec<K> keyCodec, Codec<V> valueCodec,
+            Durability durability) throws IOException {
+        this(directory, keyCodec, valueCodec, durability, DEFAULT_MIN_COMPACTION_RECORDS);
+    }
+
+    /**
+     * Open the map stored in `directory` as above, compacting the log once it holds more than
+     * `minCompactionRecords` records and more than twice as many records as entries. Requires
+     * `minCompactionRecords > 0`.
+     */
+    public DurablePacMap(Path directory, Codec<K> keyCodec, Codec<V> valueCodec,
+            Durability durability, int minCompactionRecords) throws IOException {
+        if (minCompactionRecords <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.directory = directory;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.durability = durability;
+        this.minCompactionRecords = minCompactionRecords;
+        recover();
+    }
+
+    /**
+     * Rebuild `map` from the latest checkpoint and the logs after it, delete files that are no
+     * longer needed, and open the last log for appending.
+     */
+    private void recover() throws IOException {
+        long checkpoint = -1;
+        List<Long> logs = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.delete(file);
+                } else if (generationOf(name, "checkpoint-") >= 0) {
+                    checkpoint = Math.max(checkpoint, generationOf(name, "checkpoint-"));
+                } else if (generationOf(name, "log-") >= 0) {
+                    logs.add(generationOf(name, "log-"));
+                }
+            }
+        }
+        Collections.sort(logs);
+        if (checkpoint >= 0) {
+            replay(checkpointFile(checkpoint));
+            logRecords = 0;
+            deleteBefore(checkpoint);
+        }
+        generation = Math.max(checkpoint, 0);
+        long valid = 0;
+        for (long g : logs) {
+            if (g >= generation) {
+                generation = g;
+                valid = replay(logFile(g));
+            }
+        }
+        log = FileChannel.open(logFile(generation), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        // Forcing the log only persists its contents, not its directory entry, so make sure a
+        // newly created log survives a crash before any record in it is acknowledged.
+        forceDirectory();
+        // Drop a torn record left at the end by a crash, so new records follow valid ones.
+        log.truncate(valid);
+        log.position(valid);
+    }
+
+    /**
+     * Return the generation in file name `name` if it is `prefix` followed by a generation, or -1
+     * otherwise.
+     */
+    private static long generationOf(String name, String prefix) {
+        if (!name.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Path checkpointFile(long generation) {
+        return directory.resolve("checkpoint-" + generation);
+    }
+
+    private Path logFile(long generation) {
+        return directory.resolve("log-" + generation);
+    }
+
+    /**
+     * Apply the records in `file` to `map` in order, stopping at the end of the file or at the
+     * first incomplete or corrupt record. Return the length of the valid prefix of the file.
+     */
+    private long replay(Path file) throws IOException {
+        long valid = 0;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+            CRC32C crc = new CRC32C();
+            while (true) {
+                buffer = fill(in, buffer, HEADER_SIZE);
+                if (buffer.remaining() < HEADER_SIZE) {
+                    return valid;
+                }
+                int start = buffer.position();
+                byte type = buffer.get(start);
+                int keyLength = buffer.getInt(start + 1);
+                int valueLength = buffer.getInt(start + 5);
+                if ((type != PUT && type != REMOVE) || keyLength < 0 || valueLength < 0
+                        || (long) keyLength + valueLength > Integer.MAX_VALUE / 2) {
+                    return valid;
+                }
+                int size = HEADER_SIZE + keyLength + valueLength + CHECKSUM_SIZE;
+                buffer = fill(in, buffer, size);
+                start = buffer.position();
+                if (buffer.remaining() < size) {
+                    return valid;
+                }
+                crc.reset();
+                crc.update(buffer.slice(start, size - CHECKSUM_SIZE));
+                if (buffer.getInt(start + size - CHECKSUM_SIZE) != (int) crc.getValue()) {
+                    return valid;
+                }
+                K key = keyCodec.decode(buffer.slice(start + HEADER_SIZE, keyLength));
+                if (type == PUT) {
+                    map.put(key, valueCodec.decode(
+                            buffer.slice(start + HEADER_SIZE + keyLength, valueLength)));
+                } else if (map.containsKey(key)) {
+                    map.remove(key);
+                }
+                buffer.position(start + size);
+                valid += size;
+                logRecords++;
+            }
+        }
+    }
+
+    /**
+     * Read from `in` until `buffer` has at least `n` bytes remaining or `in` ends, and return
+     * `buffer`, or a larger copy of it if `n` exceeds its capacity.
+     */
+    private static ByteBuffer fill(FileChannel in, ByteBuffer buffer, int n) throws IOException {
+        if (buffer.remaining() >= n) {
+            return buffer;
+        }
+        if (n > buffer.capacity()) {
+            buffer = ByteBuffer.allocate(n).put(buffer);
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < n) {
+            if (in.read(buffer) < 0) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Delete every checkpoint and log with a generation less than `generation`.
+     */
+    private void deleteBefore(long generation) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long g = Math.max(generationOf(name, "checkpoint-"), generationOf(name, "log-"));
+                if (g >= 0 && g < generation) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Throw an `UncheckedIOException` if writing has failed, or an `IllegalStateException` if
+     * this map is closed. Requires `lock` is held.
+     */
+    private void checkUsable() {
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("closed");
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return map.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        lock.lock();
+        try {
+            return map.containsKey(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        lock.lock();
+        try {
+            return map.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Associate `value` with `key` and log the change, returning once it is as durable as this
+     * map's `Durability` requires. Requires `value` is not null. Throws an `UncheckedIOException`
+     * if writing the log fails.
+     */
+    @Override
+    public void put(K key, V value) {
+        assert value != null;
+        lock.lock();
+        try {
+            checkUsable();
+            int start = pending.position();
+            pending = writer.append(pending, PUT, key, value);
+            map.put(key, value);
+            commit(pending.position() - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove the association of `key`, log the change, and return the value it had, once the
+     * change is as durable as this map's `Durability` requires. Throws a `NoSuchElementException`
+     * if `key` has no value, or an `UncheckedIOException` if writing the log fails.
+     */
+    @Override
+    public V remove(K key) {
+        lock.lock();
+        try {
+            checkUsable();
+            if (!map.containsKey(key)) {
+                throw new NoSuchElementException();
+            }
+            int start = pending.position();
+            pending = writer.append(pending, REMOVE, key, null);
+            V value = map.remove(key);
+            commit(pending.position() - start);
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Make the record of `size` bytes just appended to `pending` as durable as `durability`
+     * requires, and start a compaction if the log has grown enough. Requires `lock` is held.
+     */
+    private void commit(int size) {
+        appended += size;
+        logRecords++;
+        try {
+            switch (durability) {
+                case NONE -> {
+                    if (pending.position() >= BUFFER_SIZE) {
+                        writePending(false);
+                    }
+                }
+                case GROUP -> awaitDurable(appended);
+                case EACH -> writePending(true);
+            }
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException(e);
+        }
+        if (logRecords > Math.max(minCompactionRecords, (long) COMPACTION_RATIO * map.size())
+                && !compactionPending) {
+            compactionPending = true;
+            compactor.execute(this::compactInBackground);
+        }
+    }
+
+    /**
+     * Write `pending` to `log`, forcing it if `force`, and mark everything appended durable.
+     * Requires `lock` is held and no group sync is in progress.
+     */
+    private void writePending(boolean force) throws IOException {
+        assert !syncing;
+        write(log, pending);
+        if (force) {
+            log.force(false);
+            syncCount++;
+        }
+        durable = appended;
+    }
+
+    /**
+     * Write the contents of `buffer` to `out` and clear it.
+     */
+    private static void write(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Wait until the record with sequence number `sequence` is forced to disk. If no sync is in
+     * progress, this thread becomes the leader: it takes every record appended so far, writes and
+     * forces them without holding `lock`, and wakes the writers waiting for them. Writers that
+     * append in the meantime wait for the next leader. Requires `lock` is held.
+     */
+    private void awaitDurable(long sequence) throws IOException {
+        while (durable < sequence) {
+            if (failure != null) {
+                throw failure;
+            }
+            if (syncing) {
+                synced.awaitUninterruptibly();
+                continue;
+            }
+            syncing = true;
+            ByteBuffer batch = pending;
+            pending = spare;
+            spare = null;
+            long end = appended;
+            FileChannel out = log;
+            lock.unlock();
+            IOException error = null;
+            try {
+                write(out, batch);
+                out.force(false);
+            } catch (IOException e) {
+                error = e;
+            } finally {
+                lock.lock();
+            }
+            batch.clear();
+            spare = batch;
+            syncing = false;
+            syncCount++;
+            if (error != null) {
+                failure = error;
+            } else {
+                durable = end;
+            }
+            synced.signalAll();
+        }
+    }
+
+    /**
+     * Wait for any group sync in progress to finish. Requires `lock` is held.
+     */
+    private void awaitSyncIdle() {
+        while (syncing) {
+            synced.awaitUninterruptibly();
+        }
+    }
+
+    /**
+     * Run a compaction on the compactor thread, recording a failure so that later mutations
+     * report it.
+     */
+    private void compactInBackground() {
+        try {
+            compact();
+        } catch (IOException e) {
+            lock.lock();
+            try {
+                failure = e;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            lock.lock();
+            try {
+                compactionPending = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Compact the log now: switch to a new log, write a checkpoint of the entries as of the
+     * switch, and delete the older checkpoint and logs. Mutations continue during all but the
+     * switch and a copy of the entries. Throws an `IOException` if writing fails.
+     */
+    public void compact() throws IOException {
+        compactionLock.lock();
+        try {
+            compactLocked();
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    /**
+     * Compact the log as described by `compact()`. Requires `compactionLock` is held.
+     */
+    private void compactLocked() throws IOException {
+        Object[] keys;
+        Object[] values;
+        long checkpoint;
+        lock.lock();
+        try {
+            checkUsable();
+            awaitSyncIdle();
+            writePending(true);
+            log.close();
+            checkpoint = generation + 1;
+            log = FileChannel.open(logFile(checkpoint), StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE);
+            // As in `recover()`: the new log's directory entry must be durable before a record
+            // forced to it is acknowledged, which cannot happen until `lock` is released.
+            forceDirectory();
+            generation = checkpoint;
+            logRecords = 0;
+            keys = new Object[map.size()];
+            values = new Object[map.size()];
+            int i = 0;
+            for (K key : map) {
+                keys[i] = key;
+                values[i] = map.get(key);
+                i++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        writeCheckpoint(checkpoint, keys, values);
+        deleteBefore(checkpoint);
+    }
+
+    /**
+     * Write `keys` and `values` as checkpoint `checkpoint`: to a temporary file first, which is
+     * forced and then renamed into place, so that the checkpoint appears only once complete.
+     */
+    @SuppressWarnings("unchecked")
+    private void writeCheckpoint(long checkpoint, Object[] keys, Object[] values)
+            throws IOException {
+        Path temp = directory.resolve("checkpoint-" + checkpoint + ".tmp");
+        RecordWriter checkpointWriter = new RecordWriter();
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            for (int i = 0; i < keys.length; i++) {
+                buffer = checkpointWriter.append(buffer, PUT, (K) keys[i], (V) values[i]);
+                if (buffer.position() >= BUFFER_SIZE) {
+                    write(out, buffer);
+                }
+            }
+            write(out, buffer);
+            out.force(false);
+        }
+        Files.move(temp, checkpointFile(checkpoint), StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory();
+    }
+
+    /**
+     * Force the directory entry changes made so far to disk, where the platform supports it.
+     */
+    private void forceDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Some platforms cannot open directories; new and renamed entries then become
+            // durable whenever the file system commits them.
+        }
+    }
+
+    /**
+     * Return the number of times records have been forced to disk.
+     */
+    public long syncCount() {
+        lock.lock();
+        try {
+            return syncCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the generation of the current log, for tests.
+     */
+    long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait for a background compaction to finish, write and force every buffered record, and
+     * close the log. This map must not be used afterward.
+     */
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            awaitSyncIdle();
+            if (failure == null) {
+                writePending(true);
+            }
+            log.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return an iterator over the keys of this map. This map must not be modified while any such
+     * iterators are alive.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return map.iterator();
+    }
+}
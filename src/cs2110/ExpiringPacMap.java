@@ -0,0 +1,243 @@
+package cs2110;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.LongSupplier;
+
+/**
+ * A map with keys of type `K` and values of type `V` whose entries expire after a per-entry
+ * time-to-live (TTL). Deadlines are tracked on a hierarchical timing wheel, so adding an entry,
+ * refreshing its TTL, and removing it all run in expected O(1) time. There is no background
+ * thread: expired entries are purged at the start of each operation, so the cost of expiration is
+ * amortized over the operations that observe it. Time is read from a pluggable clock, so tests can
+ * control it exactly.
+ */
+public class ExpiringPacMap<K, V> implements PacMap<K, V> {
+
+    /**
+     * Pairs a value with the timer that will expire it.
+     */
+    private static final class Slot<K, V> {
+
+        V value;
+
+        final TimingWheel.Timer<K> timer;
+
+        Slot(V value, TimingWheel.Timer<K> timer) {
+            this.value = value;
+            this.timer = timer;
+        }
+    }
+
+    /**
+     * The default length of a timing-wheel tick, in clock units.
+     */
+    private static final long DEFAULT_TICK_DURATION = 1;
+
+    /**
+     * Maps each live key to its value and timer. Satisfies `entries.size() == wheel.size()`, and
+     * `entries.get(k).timer.item.equals(k)` for every key `k`.
+     */
+    private final PacMap<K, Slot<K, V>> entries;
+
+    /**
+     * The timing wheel on which every entry's expiration is scheduled.
+     */
+    private final TimingWheel<K> wheel;
+
+    /**
+     * The source of the current time, in clock units.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The TTL given to entries added by `put(key, value)`. Must be positive.
+     */
+    private final long defaultTtl;
+
+    /**
+     * Create an empty map whose entries expire `defaultTtl` milliseconds after they are put,
+     * measured by the system clock. Requires `defaultTtl > 0`.
+     */
+    public ExpiringPacMap(long defaultTtl) {
+        this(defaultTtl, DEFAULT_TICK_DURATION, System::currentTimeMillis);
+    }
+
+    /**
+     * Create an empty map whose entries expire `defaultTtl` clock units after they are put, where
+     * the current time is read from `clock`. Expirations are processed in batches of
+     * `tickDuration` clock units; coarser ticks make expiration cheaper but purge entries later.
+     * Requires `defaultTtl > 0`, `tickDuration > 0`, and that `clock` never goes backwards.
+     */
+    public ExpiringPacMap(long defaultTtl, long tickDuration, LongSupplier clock) {
+        if (defaultTtl <= 0 || tickDuration <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.defaultTtl = defaultTtl;
+        this.clock = clock;
+        entries = new ProbingPacMap<>();
+        wheel = new TimingWheel<>(tickDuration, clock.getAsLong());
+    }
+
+    /**
+     * Returns the number of keys in this map, after purging expired entries. Entries whose
+     * deadline passed within the current tick may still be counted.
+     */
+    @Override
+    public int size() {
+        expire();
+        return entries.size();
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return liveSlot(key) != null;
+    }
+
+    @Override
+    public V get(K key) {
+        Slot<K, V> slot = liveSlot(key);
+        if (slot == null) {
+            throw new NoSuchElementException();
+        }
+        return slot.value;
+    }
+
+    /**
+     * Associates the given `value` to the given `key`, expiring after the default TTL. If `key` is
+     * already present, its value is replaced and its TTL restarts. Requires `key` and `value` are
+     * not null.
+     */
+    @Override
+    public void put(K key, V value) {
+        put(key, value, defaultTtl);
+    }
+
+    /**
+     * Associates the given `value` to the given `key`, expiring `ttl` clock units from now. If
+     * `key` is already present, its value is replaced and it is rescheduled in O(1) time. Requires
+     * `key` and `value` are not null and `ttl > 0`.
+     */
+    public void put(K key, V value, long ttl) {
+        assert ttl > 0;
+        long now = expire();
+        long deadline = deadline(now, ttl);
+        if (entries.containsKey(key)) {
+            Slot<K, V> slot = entries.get(key);
+            slot.value = value;
+            wheel.reschedule(slot.timer, deadline);
+        } else {
+            entries.put(key, new Slot<>(value, wheel.schedule(key, deadline)));
+        }
+    }
+
+    /**
+     * Restarts the TTL of `key` so that it expires `ttl` clock units from now, without changing
+     * its value. Runs in expected O(1) time. Throws a `NoSuchElementException` if `key` is absent
+     * or expired. Requires `ttl > 0`.
+     */
+    public void refresh(K key, long ttl) {
+        assert ttl > 0;
+        Slot<K, V> slot = liveSlot(key);
+        if (slot == null) {
+            throw new NoSuchElementException();
+        }
+        wheel.reschedule(slot.timer, deadline(clock.getAsLong(), ttl));
+    }
+
+    /**
+     * Returns the time remaining before `key` expires, in clock units. Throws a
+     * `NoSuchElementException` if `key` is absent or expired.
+     */
+    public long remainingTtl(K key) {
+        Slot<K, V> slot = liveSlot(key);
+        if (slot == null) {
+            throw new NoSuchElementException();
+        }
+        return slot.timer.deadline() - clock.getAsLong();
+    }
+
+    @Override
+    public V remove(K key) {
+        Slot<K, V> slot = liveSlot(key);
+        if (slot == null) {
+            throw new NoSuchElementException();
+        }
+        entries.remove(key);
+        wheel.cancel(slot.timer);
+        return slot.value;
+    }
+
+    /**
+     * Returns an iterator over the unexpired keys in this map. This map must not be structurally
+     * modified while any such iterators are alive.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        long now = expire();
+        Iterator<K> keys = entries.iterator();
+        return new Iterator<>() {
+            private K next = advance();
+
+            private K advance() {
+                while (keys.hasNext()) {
+                    K key = keys.next();
+                    if (entries.get(key).timer.deadline() > now) {
+                        return key;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public K next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                K ans = next;
+                next = advance();
+                return ans;
+            }
+        };
+    }
+
+    /**
+     * Purges every entry whose tick has elapsed, then returns the current time. Entries that
+     * expired within the current tick are purged lazily by `liveSlot()` instead.
+     */
+    private long expire() {
+        long now = clock.getAsLong();
+        wheel.advance(now, entries::remove);
+        return now;
+    }
+
+    /**
+     * Returns the slot for `key` if it is present and unexpired, or null otherwise. Removes `key`
+     * if it is present but its deadline has passed.
+     */
+    private Slot<K, V> liveSlot(K key) {
+        long now = expire();
+        if (!entries.containsKey(key)) {
+            return null;
+        }
+        Slot<K, V> slot = entries.get(key);
+        if (slot.timer.deadline() <= now) {
+            entries.remove(key);
+            wheel.cancel(slot.timer);
+            return null;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the deadline `ttl` clock units after `now`, saturating instead of overflowing.
+     */
+    private static long deadline(long now, long ttl) {
+        return ttl > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + ttl;
+    }
+}
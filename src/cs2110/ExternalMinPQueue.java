@@ -0,0 +1,641 @@
+package cs2110;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * A min priority queue of elements of type `KeyType` associated with (extrinsic) double priorities
+ * that can grow beyond main memory. New elements go into an in-memory insertion heap holding at
+ * most `memoryBudget` elements; when it fills, its contents are written to a local file in
+ * priority order as a sorted run, using large sequential writes through a `FileChannel`. Removals
+ * merge the insertion heap and the runs lazily, reading each run through its own buffer, so every
+ * run is read sequentially exactly once.
+ *
+ * Runs are merged in tiers: a spilled run is in tier 0, and whenever `maxRuns` runs of the same
+ * tier accumulate, just those runs are merged into one run of the next tier. Runs in a tier are
+ * all about `maxRuns` times longer than those in the tier below, so each element is rewritten
+ * once per tier, `O(log_maxRuns(n / memoryBudget))` times in all, rather than once per merge, and
+ * at most `maxRuns - 1` runs remain in each tier.
+ *
+ * Unlike `MinPQueue`, elements need not be distinct and their priorities cannot be updated, since
+ * that would require an index of every element. Elements are written to disk with a `Codec`.
+ * Run files are deleted as they are exhausted and when the queue is closed.
+ */
+public class ExternalMinPQueue<KeyType> implements Closeable {
+
+    /**
+     * The size of each run's read and write buffer, in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The size of a record header: an 8-byte priority followed by a 4-byte key length.
+     */
+    private static final int HEADER_SIZE = 12;
+
+    /**
+     * The default number of runs of one tier that are merged into one run of the next.
+     */
+    private static final int DEFAULT_MAX_RUNS = 64;
+
+    /**
+     * A sorted run on disk, read sequentially through a buffer. Holds the record at the head of
+     * the unread part of the file.
+     */
+    private final class Run {
+
+        final Path file;
+
+        final FileChannel channel;
+
+        final ByteBuffer buffer;
+
+        /**
+         * The number of records not yet removed from this run, including the head.
+         */
+        long remaining;
+
+        double headPriority;
+
+        KeyType headKey;
+
+        /**
+         * The number of merges this run's elements have gone through since they were spilled.
+         */
+        final int tier;
+
+        Run(Path file, long count, int tier) throws IOException {
+            this.file = file;
+            this.tier = tier;
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.flip();
+            remaining = count;
+            try {
+                readHead();
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Create a second reader over the unread part of `source`, through its own channel and
+         * buffer, so that reading it leaves `source` where it is.
+         */
+        Run(Run source) throws IOException {
+            file = source.file;
+            tier = source.tier;
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            channel.position(source.channel.position());
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.put(source.buffer.duplicate());
+            buffer.flip();
+            remaining = source.remaining;
+            headPriority = source.headPriority;
+            headKey = source.headKey;
+        }
+
+        /**
+         * Read the next record into `headPriority` and `headKey`. Requires `remaining > 0`.
+         */
+        void readHead() throws IOException {
+            fill(HEADER_SIZE);
+            headPriority = buffer.getDouble();
+            int length = buffer.getInt();
+            if (length > buffer.capacity()) {
+                // The key was written around the buffer, so read it around the buffer too.
+                ByteBuffer keyBytes = ByteBuffer.allocate(length);
+                keyBytes.put(buffer);
+                while (keyBytes.hasRemaining()) {
+                    int read = channel.read(keyBytes);
+                    if (read < 0) {
+                        throw new IOException("truncated run " + file);
+                    }
+                    bytesRead += read;
+                }
+                headKey = codec.decode(keyBytes.flip());
+                return;
+            }
+            fill(length);
+            ByteBuffer keyBytes = buffer.slice(buffer.position(), length);
+            headKey = codec.decode(keyBytes);
+            buffer.position(buffer.position() + length);
+        }
+
+        /**
+         * Make sure at least `n` bytes are buffered. Throws an `IOException` if the file ends
+         * first.
+         */
+        private void fill(int n) throws IOException {
+            if (buffer.remaining() >= n) {
+                return;
+            }
+            if (n > buffer.capacity()) {
+                throw new IOException("record larger than buffer");
+            }
+            buffer.compact();
+            while (buffer.position() < n) {
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    throw new IOException("truncated run " + file);
+                }
+                bytesRead += read;
+            }
+            buffer.flip();
+        }
+
+        /**
+         * Drop the head record, reading the next one, or closing this run's channel if it was the
+         * last. The file is left for the caller to delete.
+         */
+        void advance() throws IOException {
+            remaining--;
+            headKey = null;
+            if (remaining > 0) {
+                readHead();
+            } else {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Converts elements to and from bytes.
+     */
+    private final Codec<KeyType> codec;
+
+    /**
+     * The directory in which run files are created.
+     */
+    private final Path directory;
+
+    /**
+     * The maximum number of elements held in the insertion heap.
+     */
+    private final int memoryBudget;
+
+    /**
+     * The number of runs of one tier that are merged into one run of the next.
+     */
+    private final int maxRuns;
+
+    /**
+     * The insertion heap's elements, a binary min-heap on `priorities` over indices
+     * `[0..heapSize)`.
+     */
+    private final Object[] keys;
+
+    /**
+     * The insertion heap's priorities. Satisfies `priorities[i] >= priorities[(i-1)/2]` for all
+     * `i` in `[1..heapSize)`.
+     */
+    private final double[] priorities;
+
+    /**
+     * The number of elements in the insertion heap.
+     */
+    private int heapSize;
+
+    /**
+     * The runs that still hold elements, ordered by head priority.
+     */
+    private final PriorityQueue<Run> runs;
+
+    /**
+     * The total number of elements in `runs`.
+     */
+    private long spilledSize;
+
+    /**
+     * Scratch buffer for encoding keys; grown when a key does not fit.
+     */
+    private ByteBuffer keyScratch;
+
+    /**
+     * The number of run files created so far, used to name them.
+     */
+    private int runCounter;
+
+    /**
+     * The total number of bytes written to and read from run files.
+     */
+    private long bytesWritten;
+    private long bytesRead;
+
+    /**
+     * Whether `close()` has been called.
+     */
+    private boolean closed;
+
+    /**
+     * Create an empty queue that holds at most `memoryBudget` elements in memory and spills the
+     * rest to run files in `directory`, converting elements with `codec`. Requires
+     * `memoryBudget > 0` and that `directory` exists.
+     */
+    public ExternalMinPQueue(Codec<KeyType> codec, Path directory, int memoryBudget) {
+        this(codec, directory, memoryBudget, DEFAULT_MAX_RUNS);
+    }
+
+    /**
+     * Create an empty queue as above that merges its runs whenever `maxRuns` of them are in the
+     * same tier. Requires `memoryBudget > 0` and `maxRuns >= 2`.
+     */
+    public ExternalMinPQueue(Codec<KeyType> codec, Path directory, int memoryBudget,
+            int maxRuns) {
+        if (memoryBudget <= 0 || maxRuns < 2) {
+            throw new IllegalArgumentException();
+        }
+        this.codec = codec;
+        this.directory = directory;
+        this.memoryBudget = memoryBudget;
+        this.maxRuns = maxRuns;
+        keys = new Object[memoryBudget];
+        priorities = new double[memoryBudget];
+        runs = new PriorityQueue<>(Comparator.comparingDouble(r -> r.headPriority));
+        keyScratch = ByteBuffer.allocate(64);
+    }
+
+    /**
+     * Return whether this queue contains no elements.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Return the number of elements contained in this queue, in memory or on disk.
+     */
+    public long size() {
+        return heapSize + spilledSize;
+    }
+
+    /**
+     * Return the number of run files currently holding elements.
+     */
+    public int runCount() {
+        return runs.size();
+    }
+
+    /**
+     * Return the total number of bytes written to run files.
+     */
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Return the total number of bytes read from run files.
+     */
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Add element `key` to this queue with priority `priority`. If the insertion heap is full, it
+     * is first spilled to a new run file. Throws an `UncheckedIOException` if spilling fails, in
+     * which case `key` is not added and the elements of this queue are unchanged.
+     */
+    public void add(KeyType key, double priority) {
+        assert !closed;
+        if (heapSize == memoryBudget) {
+            try {
+                spill();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        int i = heapSize++;
+        while (i > 0 && priorities[(i - 1) / 2] > priority) {
+            int p = (i - 1) / 2;
+            keys[i] = keys[p];
+            priorities[i] = priorities[p];
+            i = p;
+        }
+        keys[i] = key;
+        priorities[i] = priority;
+    }
+
+    /**
+     * Return an element associated with the smallest priority in this queue.  This is the same
+     * element that would be removed by a call to `remove()` (assuming no mutations in between).
+     * Throws a `NoSuchElementException` if this queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public KeyType peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return heapIsMin() ? (KeyType) keys[0] : runs.peek().headKey;
+    }
+
+    /**
+     * Return the minimum priority associated with an element in this queue.  Throws a
+     * `NoSuchElementException` if this queue is empty.
+     */
+    public double minPriority() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return heapIsMin() ? priorities[0] : runs.peek().headPriority;
+    }
+
+    /**
+     * Remove and return the element associated with the smallest priority in this queue. If
+     * multiple elements are tied for the smallest priority, an arbitrary one will be removed.
+     * Throws NoSuchElementException if this queue is empty, or an `UncheckedIOException` if
+     * reading a run fails.
+     */
+    @SuppressWarnings("unchecked")
+    public KeyType remove() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        if (heapIsMin()) {
+            KeyType key = (KeyType) keys[0];
+            removeHeapMin();
+            return key;
+        }
+        Run run = runs.remove();
+        KeyType key = run.headKey;
+        spilledSize--;
+        try {
+            run.advance();
+            if (run.remaining > 0) {
+                runs.add(run);
+            } else {
+                Files.deleteIfExists(run.file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return key;
+    }
+
+    /**
+     * Close and delete every run file. This queue must not be used afterward.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        for (Run run : runs) {
+            run.channel.close();
+            Files.deleteIfExists(run.file);
+        }
+        runs.clear();
+        spilledSize = 0;
+        heapSize = 0;
+    }
+
+    /**
+     * Return whether the minimum of this queue is in the insertion heap rather than a run.
+     * Requires this queue is not empty.
+     */
+    private boolean heapIsMin() {
+        return runs.isEmpty() || (heapSize > 0 && priorities[0] <= runs.peek().headPriority);
+    }
+
+    /**
+     * Remove the root of the insertion heap. Requires `heapSize > 0`.
+     */
+    private void removeHeapMin() {
+        heapSize--;
+        Object key = keys[heapSize];
+        double priority = priorities[heapSize];
+        keys[heapSize] = null;
+        if (heapSize == 0) {
+            return;
+        }
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && priorities[child + 1] < priorities[child]) {
+                child++;
+            }
+            if (priorities[child] >= priority) {
+                break;
+            }
+            keys[i] = keys[child];
+            priorities[i] = priorities[child];
+            i = child;
+        }
+        keys[i] = key;
+        priorities[i] = priority;
+    }
+
+    /**
+     * Write the contents of the insertion heap to a new run file in priority order, leaving the
+     * heap empty. Then, while some tier holds `maxRuns` runs, merges them into the next tier. If
+     * writing the run fails, the heap is restored and the partial file deleted; if a merge fails,
+     * the runs it was merging are kept. Either way, no element is lost.
+     */
+    @SuppressWarnings("unchecked")
+    private void spill() throws IOException {
+        int count = heapSize;
+        // Heapsort in place: each root removed goes to the slot the heap just gave up, leaving
+        // `[0..count)` in descending priority order with every element still in memory.
+        while (heapSize > 0) {
+            Object key = keys[0];
+            double priority = priorities[0];
+            removeHeapMin();
+            keys[heapSize] = key;
+            priorities[heapSize] = priority;
+        }
+        Path file = null;
+        try {
+            file = newRunFile();
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                for (int i = count - 1; i >= 0; i--) {
+                    writeRecord(out, buffer, priorities[i], (KeyType) keys[i]);
+                }
+                flush(out, buffer);
+            }
+            runs.add(new Run(file, count, 0));
+        } catch (IOException | RuntimeException e) {
+            // An array in ascending priority order is a valid heap.
+            for (int i = 0, j = count - 1; i < j; i++, j--) {
+                Object key = keys[i];
+                double priority = priorities[i];
+                keys[i] = keys[j];
+                priorities[i] = priorities[j];
+                keys[j] = key;
+                priorities[j] = priority;
+            }
+            heapSize = count;
+            deleteAfterFailure(file, e);
+            throw e;
+        }
+        Arrays.fill(keys, 0, count, null);
+        spilledSize += count;
+        // Only the newest run changed the tier counts, and a merge adds one run to the tier
+        // above, so at most one tier at a time can be full, starting from tier 0.
+        for (int tier = 0; runCount(tier) >= maxRuns; tier++) {
+            mergeRuns(tier);
+        }
+    }
+
+    /**
+     * Return the number of runs in `tier`.
+     */
+    private int runCount(int tier) {
+        int count = 0;
+        for (Run run : runs) {
+            if (run.tier == tier) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Merge the runs in `tier` into a single new run in the next tier with one sequential pass
+     * over each, leaving the other runs alone. The runs are read through second readers and
+     * replaced only once the merged run is complete, so if the merge fails, they are kept as they
+     * were and the partial file is deleted.
+     */
+    private void mergeRuns(int tier) throws IOException {
+        ArrayList<Run> sources = new ArrayList<>();
+        for (Run run : runs) {
+            if (run.tier == tier) {
+                sources.add(run);
+            }
+        }
+        ArrayList<Run> readers = new ArrayList<>();
+        Path file = null;
+        Run merged;
+        try {
+            PriorityQueue<Run> merging = new PriorityQueue<>(runs.comparator());
+            long count = 0;
+            for (Run source : sources) {
+                Run reader = new Run(source);
+                readers.add(reader);
+                merging.add(reader);
+                count += source.remaining;
+            }
+            file = newRunFile();
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (!merging.isEmpty()) {
+                    Run run = merging.remove();
+                    writeRecord(out, buffer, run.headPriority, run.headKey);
+                    run.advance();
+                    if (run.remaining > 0) {
+                        merging.add(run);
+                    }
+                }
+                flush(out, buffer);
+            }
+            merged = new Run(file, count, tier + 1);
+        } catch (IOException | RuntimeException e) {
+            for (Run reader : readers) {
+                reader.channel.close();
+            }
+            deleteAfterFailure(file, e);
+            throw e;
+        }
+        runs.removeAll(sources);
+        runs.add(merged);
+        for (Run source : sources) {
+            source.channel.close();
+            Files.deleteIfExists(source.file);
+        }
+    }
+
+    /**
+     * Delete `file`, if it is not null, after an operation writing it failed with `failure`,
+     * recording any error in deleting it as suppressed by `failure`.
+     */
+    private static void deleteAfterFailure(Path file, Exception failure) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Return the path of a new, empty run file.
+     */
+    private Path newRunFile() throws IOException {
+        return Files.createTempFile(directory, "run" + (runCounter++) + "-", ".pq");
+    }
+
+    /**
+     * Append a record for `key` with priority `priority` to `buffer`, first flushing `buffer` to
+     * `out` if it is too full. A key too large for `buffer` is written straight to `out` after its
+     * header.
+     */
+    private void writeRecord(FileChannel out, ByteBuffer buffer, double priority,
+            KeyType key) throws IOException {
+        ByteBuffer encoded = encode(key);
+        if (buffer.remaining() < HEADER_SIZE + encoded.remaining()) {
+            flush(out, buffer);
+        }
+        buffer.putDouble(priority);
+        buffer.putInt(encoded.remaining());
+        if (encoded.remaining() > buffer.remaining()) {
+            flush(out, buffer);
+            while (encoded.hasRemaining()) {
+                bytesWritten += out.write(encoded);
+            }
+        } else {
+            buffer.put(encoded);
+        }
+    }
+
+    /**
+     * Encode `key` into `keyScratch`, growing it as needed, and return it flipped for reading.
+     */
+    private ByteBuffer encode(KeyType key) {
+        while (true) {
+            keyScratch.clear();
+            try {
+                codec.encode(key, keyScratch);
+                return keyScratch.flip();
+            } catch (BufferOverflowException e) {
+                keyScratch = ByteBuffer.allocate(keyScratch.capacity() * 2);
+            }
+        }
+    }
+
+    /**
+     * Write the contents of `buffer` to `out` and clear it.
+     */
+    private void flush(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Return the list of run files currently holding elements, for tests.
+     */
+    ArrayList<Path> runFiles() {
+        ArrayList<Path> files = new ArrayList<>();
+        for (Run run : runs) {
+            files.add(run.file);
+        }
+        return files;
+    }
+}
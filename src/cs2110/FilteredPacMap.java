@@ -0,0 +1,196 @@
+package cs2110;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A `PacMap` that answers lookups of absent keys from a `BlockedBloomFilter` of its keys' hash
+ * codes, consulting the underlying map only when the filter reports a possible match. A definite
+ * miss thus costs one hash and one 64-byte block read, instead of a probe sequence that touches
+ * several entries and calls `equals()`. This pays off for maps whose lookups are mostly misses.
+ *
+ * The filter is kept in sync with `put()` and `remove()`. Keys cannot be removed from a Bloom
+ * filter, so removed keys leave stale bits behind; the filter is rebuilt from the map's keys when
+ * stale keys reach half of its sized capacity, or at twice the capacity when the map outgrows it,
+ * in the same amortized way that a hash table resizes.
+ *
+ * The map counts the lookups the filter answered and those it let through for absent keys, so
+ * that the observed false-positive rate can be monitored.
+ */
+public class FilteredPacMap<K, V> implements PacMap<K, V> {
+
+    /**
+     * The default number of filter bits per key, which gives a false-positive rate of about 1%.
+     */
+    public static final int DEFAULT_BITS_PER_KEY = 10;
+
+    /**
+     * The smallest number of keys the filter is sized for.
+     */
+    private static final int MIN_FILTER_CAPACITY = 64;
+
+    /**
+     * The map holding the associations.
+     */
+    private final PacMap<K, V> map;
+
+    /**
+     * The number of filter bits per key the filter is sized for.
+     */
+    private final int bitsPerKey;
+
+    /**
+     * A filter containing the mixed hash code of every key in `map`, and of up to `staleKeys`
+     * removed keys.
+     */
+    private BlockedBloomFilter filter;
+
+    /**
+     * The number of keys `filter` is sized for. Satisfies `map.size() <= filterCapacity`.
+     */
+    private int filterCapacity;
+
+    /**
+     * The number of keys removed since `filter` was last rebuilt.
+     */
+    private int staleKeys;
+
+    /**
+     * The number of lookups of absent keys that the filter rejected.
+     */
+    private long filteredMisses;
+
+    /**
+     * The number of lookups of absent keys that the filter let through to `map`.
+     */
+    private long falsePositives;
+
+    /**
+     * Create an empty map backed by a new `ProbingPacMap`, with `DEFAULT_BITS_PER_KEY`.
+     */
+    public FilteredPacMap() {
+        this(new ProbingPacMap<>(), DEFAULT_BITS_PER_KEY);
+    }
+
+    /**
+     * Create a filtered view of `map` with about `bitsPerKey` filter bits per key. `map` must
+     * not be modified except through this view afterwards. Requires `bitsPerKey > 0`.
+     */
+    public FilteredPacMap(PacMap<K, V> map, int bitsPerKey) {
+        if (bitsPerKey <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.map = map;
+        this.bitsPerKey = bitsPerKey;
+        rebuild(Math.max(MIN_FILTER_CAPACITY, map.size() * 2));
+    }
+
+    /**
+     * Replace `filter` with one sized for `capacity` keys containing every key in `map`.
+     */
+    private void rebuild(int capacity) {
+        filterCapacity = capacity;
+        filter = new BlockedBloomFilter(capacity, bitsPerKey);
+        for (K key : map) {
+            filter.add(BlockedBloomFilter.mix(key.hashCode()));
+        }
+        staleKeys = 0;
+    }
+
+    /**
+     * Return whether `map` may contain `key` according to `filter`, counting a rejection as a
+     * filtered miss.
+     */
+    private boolean mightContain(K key) {
+        if (filter.mightContain(BlockedBloomFilter.mix(key.hashCode()))) {
+            return true;
+        }
+        filteredMisses++;
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (!mightContain(key)) {
+            return false;
+        }
+        boolean found = map.containsKey(key);
+        if (!found) {
+            falsePositives++;
+        }
+        return found;
+    }
+
+    @Override
+    public V get(K key) {
+        if (!containsKey(key)) {
+            throw new NoSuchElementException();
+        }
+        return map.get(key);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        map.put(key, value);
+        if (map.size() > filterCapacity) {
+            rebuild(filterCapacity * 2);
+        } else {
+            filter.add(BlockedBloomFilter.mix(key.hashCode()));
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        if (!containsKey(key)) {
+            throw new NoSuchElementException();
+        }
+        V value = map.remove(key);
+        staleKeys++;
+        if (staleKeys > filterCapacity / 2) {
+            rebuild(Math.max(MIN_FILTER_CAPACITY, filterCapacity));
+        }
+        return value;
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return map.iterator();
+    }
+
+    /**
+     * Return the number of lookups of absent keys that the filter answered without consulting
+     * the underlying map.
+     */
+    public long filteredMisses() {
+        return filteredMisses;
+    }
+
+    /**
+     * Return the number of lookups of absent keys that the filter failed to reject.
+     */
+    public long falsePositives() {
+        return falsePositives;
+    }
+
+    /**
+     * Return the observed false-positive rate: the fraction of lookups of absent keys that the
+     * filter failed to reject, or 0 if there have been none.
+     */
+    public double falsePositiveRate() {
+        long misses = filteredMisses + falsePositives;
+        return misses == 0 ? 0 : (double) falsePositives / misses;
+    }
+
+    /**
+     * Reset the lookup counters to 0.
+     */
+    public void resetStatistics() {
+        filteredMisses = 0;
+        falsePositives = 0;
+    }
+}
@@ -0,0 +1,185 @@
+package cs2110;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Estimates the most frequent items of type `T` in a stream of arbitrary length using the
+ * Space-Saving algorithm of Metwally, Agrawal, and El Abbadi, while tracking at most `capacity`
+ * items. Each tracked item has a counter that overestimates its true frequency by at most a
+ * recorded error. When an untracked item arrives and every counter is in use, the item with the
+ * smallest counter is evicted and the new item inherits that counter (as its error) plus one.
+ *
+ * Counters are the priorities of a `MinPQueue`, so the item to evict is found and replaced in
+ * O(log capacity) time; errors are kept in a `PacMap` holding only the tracked items. For a stream
+ * of N items, every counter overestimates by at most `N / capacity`, and any item occurring more
+ * than `N / capacity` times is guaranteed to be tracked.
+ */
+public class HeavyHitters<T> {
+
+    /**
+     * An estimate of an item's frequency: its counter `count`, which overestimates its true
+     * frequency by at most `error`.
+     */
+    public record Estimate<T>(T item, long count, long error) {
+
+        /**
+         * Return the smallest frequency the item can have had.
+         */
+        public long lowerBound() {
+            return count - error;
+        }
+    }
+
+    /**
+     * The maximum number of items tracked.
+     */
+    private final int capacity;
+
+    /**
+     * The tracked items, prioritized by their counters.
+     */
+    private final MinPQueue<T> counts;
+
+    /**
+     * Maps each tracked item to the amount by which its counter may overestimate it. Has the same
+     * keys as `counts`.
+     */
+    private final PacMap<T, Long> errors;
+
+    /**
+     * The total weight of all items added.
+     */
+    private long total;
+
+    /**
+     * Whether any item has been evicted. Until then, every counter is exact.
+     */
+    private boolean evicted;
+
+    /**
+     * Create a summary that tracks at most `capacity` items. Requires `capacity > 0`.
+     */
+    public HeavyHitters(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.capacity = capacity;
+        counts = new MinPQueue<>();
+        errors = new ProbingPacMap<>();
+    }
+
+    /**
+     * Return the maximum number of items tracked.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Return the number of items currently tracked, which is at most `capacity`.
+     */
+    public int size() {
+        return counts.size();
+    }
+
+    /**
+     * Return the total weight of all items added so far.
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Record one occurrence of `item`.
+     */
+    public void add(T item) {
+        add(item, 1);
+    }
+
+    /**
+     * Record `weight` occurrences of `item`. Runs in O(log capacity) time. Requires `weight > 0`.
+     */
+    public void add(T item, long weight) {
+        assert weight > 0;
+        total += weight;
+        if (counts.contains(item)) {
+            counts.addOrUpdate(item, counts.priorityOf(item) + weight);
+            return;
+        }
+        long error = 0;
+        if (counts.size() == capacity) {
+            error = (long) counts.minPriority();
+            errors.remove(counts.remove());
+            evicted = true;
+        }
+        counts.addOrUpdate(item, error + weight);
+        errors.put(item, error);
+    }
+
+    /**
+     * Return the largest amount by which any counter may overestimate its item's frequency, which
+     * is also the largest frequency an untracked item can have had. This is the smallest counter
+     * once an item has been evicted (and 0 before then), and is at most `total() / capacity()`.
+     */
+    public long maxError() {
+        return evicted ? (long) counts.minPriority() : 0;
+    }
+
+    /**
+     * Return an estimate of the frequency of `item`. If `item` is not tracked, its count is
+     * `maxError()`, which bounds its true frequency, and its lower bound is 0.
+     */
+    public Estimate<T> estimate(T item) {
+        if (!counts.contains(item)) {
+            long bound = maxError();
+            return new Estimate<>(item, bound, bound);
+        }
+        return new Estimate<>(item, (long) counts.priorityOf(item), errors.get(item));
+    }
+
+    /**
+     * Return the estimates of up to `k` tracked items with the largest counters, in order of
+     * decreasing count. Requires `k >= 0`.
+     */
+    public List<Estimate<T>> topK(int k) {
+        assert k >= 0;
+        List<Estimate<T>> all = tracked();
+        all.sort(Comparator.comparingLong((Estimate<T> e) -> e.count).reversed());
+        return all.subList(0, Math.min(k, all.size()));
+    }
+
+    /**
+     * Return the estimates of the tracked items whose counters exceed `phi * total()`, in order of
+     * decreasing count. Every item whose true frequency exceeds `phi * total()` is included; an
+     * included item is guaranteed to be such an item if its lower bound also exceeds it. Throws an
+     * `IllegalArgumentException` unless `1.0 / capacity() <= phi <= 1`, since below that an
+     * evicted item may exceed `phi * total()` without being tracked.
+     */
+    public List<Estimate<T>> frequentItems(double phi) {
+        if (!(phi >= 1.0 / capacity && phi <= 1)) {
+            throw new IllegalArgumentException();
+        }
+        double threshold = phi * total;
+        List<Estimate<T>> result = new ArrayList<>();
+        for (Estimate<T> e : topK(capacity)) {
+            if (e.count <= threshold) {
+                break;
+            }
+            result.add(e);
+        }
+        return result;
+    }
+
+    /**
+     * Return the estimates of all tracked items, in no particular order.
+     */
+    private List<Estimate<T>> tracked() {
+        List<Estimate<T>> result = new ArrayList<>(errors.size());
+        for (T item : errors) {
+            result.add(new Estimate<>(item, (long) counts.priorityOf(item), errors.get(item)));
+        }
+        return result;
+    }
+}
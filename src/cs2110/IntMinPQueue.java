@@ -0,0 +1,372 @@
+package cs2110;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A min priority queue of distinct int elements in `[0..capacity)` associated with double
+ * priorities. Behaves like `MinPQueue<Integer>`, but tracks each element's heap position in a
+ * plain `int[]` indexed by the element, so no operation hashes, boxes, or allocates. Guarantees
+ * O(log N) performance for all modifying operations, where N is the queue size.
+ *
+ * By default the heap is stored in the usual flat level order, where the children of logical
+ * index `i` are at `2i+1` and `2i+2`. For very large queues, a blocked (B-heap) layout may be
+ * chosen instead: the tree is cut into complete subtrees of a fixed height, and each subtree is
+ * stored contiguously, so that a sift crosses a cache line (or page) only once every few levels
+ * rather than at every level. The heap algorithms always work on logical indices, which are what
+ * `position` records; only the storage slot of each logical index differs between layouts.
+ *
+ * The blocked layout is not recommended. In `HeapLayoutBenchmark`, even with each block padded
+ * to a power-of-two number of slots so that it is aligned within the array, it ran about 1.5 to 2
+ * times slower than the flat layout at every size from 10^3 to 10^7 elements: the extra index
+ * arithmetic in `slot()` costs more than the cache misses it saves while the priorities still
+ * fit in RAM. It is kept for experiments on heaps large enough to page.
+ */
+public class IntMinPQueue {
+
+    /**
+     * Marks an element that is not in the queue in `position`.
+     */
+    private static final int ABSENT = -1;
+
+    /**
+     * A block height whose blocks (7 nodes padded to 8 slots) span the priorities of one 64-byte
+     * cache line.
+     */
+    public static final int CACHE_LINE_BLOCK_HEIGHT = 3;
+
+    /**
+     * A block height whose blocks (511 nodes padded to 512 slots) span the priorities of one
+     * 4 KiB page.
+     */
+    public static final int PAGE_BLOCK_HEIGHT = 9;
+
+    /**
+     * The elements of a binary min-heap, ordered by `priorities`, stored at `slot(i)` for each
+     * logical index `i` in `[0..size)`.
+     */
+    private final int[] heap;
+
+    /**
+     * The priority of the element at each slot. Satisfies
+     * `priorities[slot(i)] >= priorities[slot((i-1)/2)]` for all `i` in `[1..size)`.
+     */
+    private final double[] priorities;
+
+    /**
+     * The logical heap index of each element, or `ABSENT` if it is not in the queue. Satisfies
+     * `heap[slot(position[e])] == e` for every element `e` in the queue.
+     */
+    private final int[] position;
+
+    /**
+     * The height of the subtrees stored contiguously in the blocked layout, or 0 for the flat
+     * layout.
+     */
+    private final int blockHeight;
+
+    /**
+     * The height of the top block in the blocked layout. The tree's depth is not in general a
+     * multiple of `blockHeight`, so the top block absorbs the remainder; this keeps every lower
+     * block complete. The top block is padded to the same `2^blockHeight` slots as the others.
+     */
+    private final int topBlockHeight;
+
+    /**
+     * For each depth `d` of the tree in the blocked layout, the depth at which the block level
+     * containing `d` starts. Precomputed so that `slot()` needs no division.
+     */
+    private final int[] blockStart;
+
+    /**
+     * For each depth `d` of the tree in the blocked layout, the first slot of the block level
+     * containing `d`. Every block level before it is a whole number of its own blocks, so this
+     * is a multiple of the block size.
+     */
+    private final int[] levelOffset;
+
+    /**
+     * The number of elements in the queue.
+     */
+    private int size;
+
+    /**
+     * Create an empty queue that can hold the elements `[0..capacity)`. Requires
+     * `capacity >= 0`.
+     */
+    public IntMinPQueue(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * Create an empty queue that can hold the elements `[0..capacity)`, whose heap is stored in
+     * blocks of complete subtrees of height `blockHeight`, or in flat level order if
+     * `blockHeight` is 0. The blocked layout reserves storage for a complete tree deep enough to
+     * hold `capacity` elements, with each block padded to `2^h` slots for block height `h`, which
+     * is less than `2 * capacity * 2^h / (2^h - 1) + 2^h` slots. Requires `capacity >= 0`,
+     * `0 <= blockHeight <= 30`, and that this storage fits in an array.
+     */
+    public IntMinPQueue(int capacity, int blockHeight) {
+        if (capacity < 0 || blockHeight < 0 || blockHeight > 30) {
+            throw new IllegalArgumentException();
+        }
+        int depth = 32 - Integer.numberOfLeadingZeros(capacity); // levels needed for `capacity`
+        this.blockHeight = capacity > 0 ? blockHeight : 0;
+        topBlockHeight = this.blockHeight > 0 ? (depth - 1) % blockHeight + 1 : 0;
+        blockStart = new int[32];
+        levelOffset = new int[32];
+        long slots = capacity;
+        if (this.blockHeight > 0) {
+            // Lay out the block levels in order; the `2^s` blocks of the level starting at depth
+            // `s` each take `2^h` slots. The top block is padded to a full `2^blockHeight` slots
+            // too, so that every later level starts on a multiple of the block size.
+            long offset = 0;
+            for (int s = 0, height = topBlockHeight; s < depth; s += height,
+                    height = blockHeight) {
+                for (int d = s; d < s + height && d < 32; d++) {
+                    blockStart[d] = s;
+                    levelOffset[d] = (int) offset;
+                }
+                offset += 1L << (s + blockHeight);
+                if (offset > Integer.MAX_VALUE - 8) {
+                    throw new IllegalArgumentException();
+                }
+            }
+            slots = offset;
+        }
+        heap = new int[(int) slots];
+        priorities = new double[(int) slots];
+        position = new int[capacity];
+        Arrays.fill(position, ABSENT);
+        size = 0;
+    }
+
+    /**
+     * Return the number of distinct elements this queue can hold.
+     */
+    public int capacity() {
+        return position.length;
+    }
+
+    /**
+     * Return whether this queue contains no elements.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Return the number of elements contained in this queue.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return whether `key` is contained in this queue. Requires `0 <= key < capacity()`.
+     */
+    public boolean contains(int key) {
+        return position[key] != ABSENT;
+    }
+
+    /**
+     * Return the priority associated with `key`. Throws a `NoSuchElementException` if `key` is not
+     * contained in this queue. Requires `0 <= key < capacity()`.
+     */
+    public double priorityOf(int key) {
+        int i = position[key];
+        if (i == ABSENT) {
+            throw new NoSuchElementException();
+        }
+        return priorities[slot(i)];
+    }
+
+    /**
+     * Return an element associated with the smallest priority in this queue. Throws a
+     * `NoSuchElementException` if this queue is empty.
+     */
+    public int peekInt() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[slot(0)];
+    }
+
+    /**
+     * Return the minimum priority associated with an element in this queue. Throws a
+     * `NoSuchElementException` if this queue is empty.
+     */
+    public double minPriority() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return priorities[slot(0)];
+    }
+
+    /**
+     * If `key` is already contained in this queue, change its associated priority to `priority`.
+     * Otherwise, add it to this queue with that priority. Requires `0 <= key < capacity()`.
+     */
+    public void addOrUpdate(int key, double priority) {
+        int i = position[key];
+        if (i == ABSENT) {
+            bubbleUp(size++, key, priority);
+        } else if (priority < priorities[slot(i)]) {
+            bubbleUp(i, key, priority);
+        } else if (priority > priorities[slot(i)]) {
+            bubbleDown(i, key, priority);
+        }
+    }
+
+    /**
+     * Remove and return the element associated with the smallest priority in this queue. If
+     * multiple elements are tied for the smallest priority, an arbitrary one will be removed.
+     * Throws NoSuchElementException if this queue is empty.
+     */
+    public int removeInt() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int key = heap[slot(0)];
+        removeAt(0);
+        return key;
+    }
+
+    /**
+     * Remove element `key` from this queue and return its priority. Throws a
+     * `NoSuchElementException` if `key` is not contained in this queue. Requires
+     * `0 <= key < capacity()`.
+     */
+    public double remove(int key) {
+        int i = position[key];
+        if (i == ABSENT) {
+            throw new NoSuchElementException();
+        }
+        double priority = priorities[slot(i)];
+        removeAt(i);
+        return priority;
+    }
+
+    /**
+     * Remove every element from this queue in O(N) time, so that it can be reused without
+     * reallocating its arrays.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[slot(i)]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    /**
+     * Return the storage slot of logical heap index `i`. In the flat layout this is `i` itself.
+     * In the blocked layout, `i` lies in the block level starting at depth `s`, in the block
+     * rooted at its ancestor `r` nodes from the left of depth `s`. Each block holds at most
+     * `2^h - 1` nodes in `2^h` slots, leaving its first slot unused, so blocks start on
+     * multiples of `2^h` slots and are aligned to cache lines (or pages) as well as the array's
+     * elements are. The block's nodes are stored in 1-based level order after its first slot.
+     * Requires `i >= 0`.
+     */
+    private int slot(int i) {
+        if (blockHeight == 0) {
+            return i;
+        }
+        int n1 = i + 1; // 1-based level-order index
+        int depth = 31 - Integer.numberOfLeadingZeros(n1);
+        int start = blockStart[depth];
+        int localDepth = depth - start;
+        int r = (n1 >>> localDepth) - (1 << start);
+        int local = (1 << localDepth) | (n1 & ((1 << localDepth) - 1));
+        return levelOffset[depth] + (r << blockHeight) + local;
+    }
+
+    /**
+     * Remove the element at logical heap index `i`, moving the last element into the hole.
+     * Requires `0 <= i < size`.
+     */
+    private void removeAt(int i) {
+        assert i >= 0 && i < size;
+        position[heap[slot(i)]] = ABSENT;
+        size--;
+        if (i == size) {
+            return;
+        }
+        int last = heap[slot(size)];
+        double lastPriority = priorities[slot(size)];
+        if (lastPriority < priorities[slot(i)]) {
+            bubbleUp(i, last, lastPriority);
+        } else {
+            bubbleDown(i, last, lastPriority);
+        }
+    }
+
+    /**
+     * Place `key` with priority `priority` at logical heap index `i`, first moving ancestors with
+     * larger priorities down into the hole. Requires `0 <= i < size`, and that the priority at
+     * every descendant of `i` is not less than `priority`.
+     */
+    private void bubbleUp(int i, int key, double priority) {
+        int hole = slot(i);
+        while (i > 0) {
+            int p = (i - 1) / 2;
+            int parentSlot = slot(p);
+            if (priorities[parentSlot] <= priority) {
+                break;
+            }
+            move(parentSlot, hole, i);
+            i = p;
+            hole = parentSlot;
+        }
+        place(hole, i, key, priority);
+    }
+
+    /**
+     * Place `key` with priority `priority` at logical heap index `i`, first moving children with
+     * smaller priorities up into the hole. Requires `0 <= i < size`, and that the priority at
+     * every ancestor of `i` is not greater than `priority`.
+     */
+    private void bubbleDown(int i, int key, double priority) {
+        int hole = slot(i);
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            int childSlot = slot(child);
+            if (child + 1 < size) {
+                int rightSlot = slot(child + 1);
+                if (priorities[rightSlot] < priorities[childSlot]) {
+                    child++;
+                    childSlot = rightSlot;
+                }
+            }
+            if (priorities[childSlot] >= priority) {
+                break;
+            }
+            move(childSlot, hole, i);
+            i = child;
+            hole = childSlot;
+        }
+        place(hole, i, key, priority);
+    }
+
+    /**
+     * Copy the element in slot `fromSlot` to slot `toSlot`, which holds logical heap index `to`,
+     * updating its position.
+     */
+    private void move(int fromSlot, int toSlot, int to) {
+        heap[toSlot] = heap[fromSlot];
+        priorities[toSlot] = priorities[fromSlot];
+        position[heap[toSlot]] = to;
+    }
+
+    /**
+     * Store `key` with priority `priority` in slot `s`, which holds logical heap index `i`,
+     * updating its position.
+     */
+    private void place(int s, int i, int key, double priority) {
+        heap[s] = key;
+        priorities[s] = priority;
+        position[key] = i;
+    }
+}
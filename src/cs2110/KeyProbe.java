@@ -0,0 +1,29 @@
+package cs2110;
+
+/**
+ * Describes a key of type `K` without being one, so that a map can be searched for that key
+ * without allocating it. For example, a map keyed by a record of an `int` and a `String` can be
+ * searched with one reusable mutable probe holding the two components, rather than a new record
+ * for every lookup.
+ *
+ * A probe must describe at most one key: `matches()` is true only for keys equal to the key it
+ * describes, and `keyHashCode()` returns that key's `hashCode()`.
+ */
+public interface KeyProbe<K> {
+
+    /**
+     * Return the `hashCode()` of the key this probe describes.
+     */
+    int keyHashCode();
+
+    /**
+     * Return whether `key` equals the key this probe describes. Requires `key` is not null.
+     */
+    boolean matches(K key);
+
+    /**
+     * Return a new key equal to the key this probe describes, for storing in a map. Only called
+     * when a map must insert the key.
+     */
+    K toKey();
+}
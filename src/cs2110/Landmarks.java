@@ -0,0 +1,134 @@
+package cs2110;
+
+import java.util.Random;
+
+/**
+ * The ALT ("A*, landmarks, triangle inequality") heuristic for a `CsrGraph`. Preprocessing picks a
+ * few landmark vertices and stores the distances from every landmark to every vertex and from
+ * every vertex to every landmark. By the triangle inequality, for any landmark `L`,
+ * `d(v, t) >= d(v, L) - d(t, L)` and `d(v, t) >= d(L, t) - d(L, v)`, and the largest of these
+ * bounds is an admissible and consistent estimate that is usually much tighter than a geometric
+ * one, especially on graphs whose edge weights are not tied to geometry.
+ *
+ * Landmarks are chosen by farthest-point selection: each new landmark is the reachable vertex
+ * farthest from the landmarks chosen so far, which spreads them around the periphery of the
+ * graph, where they give good bounds for most queries. Distances are stored vertex-major in
+ * primitive arrays, so one estimate reads two short contiguous runs of doubles.
+ */
+public class Landmarks implements ShortestPaths.Heuristic {
+
+    /**
+     * The number of landmarks.
+     */
+    private final int count;
+
+    /**
+     * The landmark vertices.
+     */
+    private final int[] landmarks;
+
+    /**
+     * `fromLandmark[v * count + i]` is the distance from landmark `i` to vertex `v`, or positive
+     * infinity if there is no path.
+     */
+    private final double[] fromLandmark;
+
+    /**
+     * `toLandmark[v * count + i]` is the distance from vertex `v` to landmark `i`, or positive
+     * infinity if there is no path.
+     */
+    private final double[] toLandmark;
+
+    private Landmarks(int[] landmarks, double[] fromLandmark, double[] toLandmark) {
+        this.count = landmarks.length;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * Select `count` landmarks for the graph searched by `paths` by farthest-point selection,
+     * starting from a vertex drawn with `seed`, and precompute their distances. Runs two full
+     * Dijkstra searches per landmark, plus one to find the first. Requires `count > 0` and the
+     * graph is not empty. If fewer than `count` vertices are reachable, landmarks may repeat.
+     */
+    public static Landmarks select(ShortestPaths paths, int count, long seed) {
+        CsrGraph graph = paths.graph();
+        int n = graph.vertexCount();
+        if (count <= 0 || n == 0) {
+            throw new IllegalArgumentException();
+        }
+        ShortestPaths reversePaths = new ShortestPaths(graph.reverse());
+        int[] landmarks = new int[count];
+        double[] fromLandmark = new double[n * count];
+        double[] toLandmark = new double[n * count];
+
+        // `nearest[v]` is the distance to `v` from the nearest landmark chosen so far.
+        double[] nearest = paths.distancesFrom(new Random(seed).nextInt(n));
+        for (int i = 0; i < count; i++) {
+            int landmark = farthest(nearest);
+            landmarks[i] = landmark;
+            double[] from = paths.distancesFrom(landmark);
+            double[] to = reversePaths.distancesFrom(landmark);
+            for (int v = 0; v < n; v++) {
+                fromLandmark[v * count + i] = from[v];
+                toLandmark[v * count + i] = to[v];
+                nearest[v] = i == 0 ? from[v] : Math.min(nearest[v], from[v]);
+            }
+        }
+        return new Landmarks(landmarks, fromLandmark, toLandmark);
+    }
+
+    /**
+     * Return the vertex with the largest finite value in `distances`.
+     */
+    private static int farthest(double[] distances) {
+        int best = 0;
+        double bestDistance = -1;
+        for (int v = 0; v < distances.length; v++) {
+            if (distances[v] > bestDistance && distances[v] < Double.POSITIVE_INFINITY) {
+                best = v;
+                bestDistance = distances[v];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Return the number of landmarks.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Return the landmark vertices, in the order they were selected.
+     */
+    public int[] landmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * Return the largest lower bound on the distance from `v` to `target` given by any landmark,
+     * or 0 if none gives one. Bounds involving unreachable landmarks are skipped.
+     */
+    @Override
+    public double estimate(int v, int target) {
+        int vi = v * count;
+        int ti = target * count;
+        double best = 0;
+        for (int i = 0; i < count; i++) {
+            double toV = toLandmark[vi + i];
+            double toT = toLandmark[ti + i];
+            if (toV - toT > best && toT < Double.POSITIVE_INFINITY) {
+                best = toV - toT;
+            }
+            double fromV = fromLandmark[vi + i];
+            double fromT = fromLandmark[ti + i];
+            if (fromT - fromV > best && fromV < Double.POSITIVE_INFINITY) {
+                best = fromT - fromV;
+            }
+        }
+        return best == Double.POSITIVE_INFINITY ? 0 : best;
+    }
+}
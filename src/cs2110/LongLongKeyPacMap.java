@@ -0,0 +1,228 @@
+package cs2110;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A map from pairs of `long`s to values of type `V`, implemented using a hash table with linear
+ * probing that stores both key components inline in primitive arrays. Looking up, inserting, and
+ * removing keys never allocates, unlike a `PacMap` keyed by a record of the two components. Pairs
+ * of `int`s, or an `int` and a `long`, can be stored by widening them.
+ */
+public class LongLongKeyPacMap<V> {
+
+    /**
+     * Visits the entries of a `LongLongKeyPacMap`.
+     */
+    public interface EntryVisitor<V> {
+
+        void visit(long first, long second, V value);
+    }
+
+    /**
+     * Marks a slot whose entry was removed in `values`. Tombstones count toward the load factor
+     * and are cleared when the table is rebuilt.
+     */
+    private static final Object TOMBSTONE = new Object();
+
+    /**
+     * The initial capacity of the hash table.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The maximum fraction of the table that entries and tombstones may occupy together. Must have
+     * `0 < MAX_LOAD_FACTOR < 1`.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.5;
+
+    /**
+     * The first key component of the entry in each slot. Meaningful only where `values` holds a
+     * value.
+     */
+    private long[] firsts;
+
+    /**
+     * The second key component of the entry in each slot. Meaningful only where `values` holds a
+     * value.
+     */
+    private long[] seconds;
+
+    /**
+     * The value of the entry in each slot, `null` for a slot that has never held an entry, or
+     * `TOMBSTONE`. If this map contains a key whose hash maps to slot `i`, its entry is reachable
+     * by linear probing from `i` without passing a `null` slot. The length is a power of 2.
+     */
+    private Object[] values;
+
+    /**
+     * The number of entries in this map.
+     */
+    private int size;
+
+    /**
+     * The number of `TOMBSTONE` slots in `values`.
+     */
+    private int tombstones;
+
+    /**
+     * Create a new empty map.
+     */
+    public LongLongKeyPacMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        firsts = new long[capacity];
+        seconds = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Return the number of keys currently associated with values in this map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the home slot of the key `(first, second)` in a table of length `mask + 1`.
+     */
+    private static int hash(long first, long second, int mask) {
+        long h = first * 0x9E3779B97F4A7C15L + second;
+        h = (h ^ (h >>> 32)) * 0xD6E8FEB86659FD93L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * If `(first, second)` is a key in this map, return its slot. Otherwise return `-1 - s`, where
+     * `s` is the slot a new entry for it should occupy: the first tombstone on its probe sequence,
+     * or the `null` slot that ends it.
+     */
+    private int findSlot(long first, long second) {
+        int mask = values.length - 1;
+        int firstTombstone = -1;
+        for (int i = hash(first, second, mask); ; i = (i + 1) & mask) {
+            Object v = values[i];
+            if (v == null) {
+                return -1 - (firstTombstone == -1 ? i : firstTombstone);
+            } else if (v == TOMBSTONE) {
+                if (firstTombstone == -1) {
+                    firstTombstone = i;
+                }
+            } else if (firsts[i] == first && seconds[i] == second) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * Return whether a value is associated with the key `(first, second)`.
+     */
+    public boolean containsKey(long first, long second) {
+        return findSlot(first, second) >= 0;
+    }
+
+    /**
+     * Return the value associated with the key `(first, second)`. Throws a
+     * `NoSuchElementException` if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long first, long second) {
+        int slot = findSlot(first, second);
+        if (slot < 0) {
+            throw new NoSuchElementException();
+        }
+        return (V) values[slot];
+    }
+
+    /**
+     * Return the value associated with the key `(first, second)`, or `defaultValue` if there is
+     * none.
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(long first, long second, V defaultValue) {
+        int slot = findSlot(first, second);
+        return slot < 0 ? defaultValue : (V) values[slot];
+    }
+
+    /**
+     * Associate `value` with the key `(first, second)`. Requires `value` is not null.
+     */
+    public void put(long first, long second, V value) {
+        assert value != null;
+        int slot = findSlot(first, second);
+        if (slot >= 0) {
+            values[slot] = value;
+            return;
+        }
+        slot = -1 - slot;
+        if (values[slot] == TOMBSTONE) {
+            tombstones--;
+        }
+        firsts[slot] = first;
+        seconds[slot] = second;
+        values[slot] = value;
+        size++;
+        if (size + tombstones > MAX_LOAD_FACTOR * values.length) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Remove and return the value associated with the key `(first, second)`. Throws a
+     * `NoSuchElementException` if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long first, long second) {
+        int slot = findSlot(first, second);
+        if (slot < 0) {
+            throw new NoSuchElementException();
+        }
+        V value = (V) values[slot];
+        values[slot] = TOMBSTONE;
+        size--;
+        tombstones++;
+        return value;
+    }
+
+    /**
+     * Call `visitor` on every entry of this map, in no particular order. This map must not be
+     * modified during the visit.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryVisitor<? super V> visitor) {
+        for (int i = 0; i < values.length; i++) {
+            Object v = values[i];
+            if (v != null && v != TOMBSTONE) {
+                visitor.visit(firsts[i], seconds[i], (V) v);
+            }
+        }
+    }
+
+    /**
+     * Rehash every entry into a new table, dropping tombstones. The table doubles in length unless
+     * tombstones rather than entries make up most of the load, in which case it keeps its length.
+     */
+    private void rebuild() {
+        long[] oldFirsts = firsts;
+        long[] oldSeconds = seconds;
+        Object[] oldValues = values;
+        allocate(size > MAX_LOAD_FACTOR / 2 * oldValues.length ? oldValues.length * 2
+                : oldValues.length);
+        int mask = values.length - 1;
+        for (int j = 0; j < oldValues.length; j++) {
+            Object v = oldValues[j];
+            if (v == null || v == TOMBSTONE) {
+                continue;
+            }
+            int i = hash(oldFirsts[j], oldSeconds[j], mask);
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            firsts[i] = oldFirsts[j];
+            seconds[i] = oldSeconds[j];
+            values[i] = v;
+        }
+        tombstones = 0;
+    }
+}
@@ -0,0 +1,311 @@
+package cs2110;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+/**
+ * A min priority queue of distinct elements of type `KeyType` associated with (extrinsic) double
+ * priorities, implemented as a pairing heap so that two queues can be melded without copying
+ * their elements. Inserting, decreasing a priority, and melding the heap trees run in O(1) time;
+ * removing the minimum and increasing a priority run in O(log N) amortized time, where N is the
+ * queue size.
+ */
+public class MeldablePQueue<KeyType> {
+
+    /**
+     * A node of the pairing heap. A node's children form a list linked by `sibling`, starting at
+     * `child`.
+     */
+    private static final class Node<KeyType> {
+
+        final KeyType key;
+
+        double priority;
+
+        /**
+         * The first child of this node, or null if it is a leaf.
+         */
+        Node<KeyType> child;
+
+        /**
+         * The next sibling of this node, or null if it is the last child (or the root).
+         */
+        Node<KeyType> sibling;
+
+        /**
+         * This node's parent if it is a first child, its previous sibling otherwise, or null if
+         * it is the root.
+         */
+        Node<KeyType> prev;
+
+        Node(KeyType key, double priority) {
+            this.key = key;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * The root of the pairing heap, or null if this queue is empty. Every node's priority is at
+     * least that of its parent.
+     */
+    private Node<KeyType> root;
+
+    /**
+     * Associates each element in the queue with its node in the heap. Only maps elements that are
+     * in the queue.
+     */
+    private PacMap<KeyType, Node<KeyType>> index;
+
+    /**
+     * Scratch list reused by `mergePairs()` to hold the roots produced by its first pass.
+     */
+    private final ArrayList<Node<KeyType>> pairs;
+
+    /**
+     * Create an empty queue.
+     */
+    public MeldablePQueue() {
+        index = new ProbingPacMap<>();
+        pairs = new ArrayList<>();
+    }
+
+    /**
+     * Return whether this queue contains no elements.
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Return the number of elements contained in this queue.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Return whether `key` is contained in this queue.
+     */
+    public boolean contains(KeyType key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Return the priority associated with `key`. Throws a `NoSuchElementException` if `key` is not
+     * contained in this queue.
+     */
+    public double priorityOf(KeyType key) {
+        return index.get(key).priority;
+    }
+
+    /**
+     * Return an element associated with the smallest priority in this queue. Throws a
+     * `NoSuchElementException` if this queue is empty.
+     */
+    public KeyType peek() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        return root.key;
+    }
+
+    /**
+     * Return the minimum priority associated with an element in this queue. Throws a
+     * `NoSuchElementException` if this queue is empty.
+     */
+    public double minPriority() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        return root.priority;
+    }
+
+    /**
+     * If `key` is already contained in this queue, change its associated priority to `priority`.
+     * Otherwise, add it to this queue with that priority.
+     */
+    public void addOrUpdate(KeyType key, double priority) {
+        if (!index.containsKey(key)) {
+            Node<KeyType> node = new Node<>(key, priority);
+            index.put(key, node);
+            root = link(root, node);
+        } else {
+            Node<KeyType> node = index.get(key);
+            if (priority < node.priority) {
+                decreasePriority(node, priority);
+            } else if (priority > node.priority) {
+                unlinkNode(node);
+                node.priority = priority;
+                root = link(root, node);
+            }
+        }
+    }
+
+    /**
+     * Remove and return the element associated with the smallest priority in this queue. If
+     * multiple elements are tied for the smallest priority, an arbitrary one will be removed.
+     * Throws NoSuchElementException if this queue is empty.
+     */
+    public KeyType remove() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        Node<KeyType> min = root;
+        root = mergePairs(min.child);
+        min.child = null;
+        index.remove(min.key);
+        return min.key;
+    }
+
+    /**
+     * Remove element `key` from this queue and return its priority. Throws a
+     * `NoSuchElementException` if `key` is not contained in this queue.
+     */
+    public double remove(KeyType key) {
+        Node<KeyType> node = index.remove(key);
+        unlinkNode(node);
+        return node.priority;
+    }
+
+    /**
+     * Move every element of `other` into this queue, leaving `other` empty. If an element is
+     * contained in both queues, it keeps the smaller of its two priorities. The heap trees are
+     * melded in O(1) time without copying; the element indices are unioned by inserting the
+     * smaller index into the larger, which takes O(min(N, M)) expected time plus O(log N) amortized
+     * time per element contained in both queues. Requires `other` is not this queue.
+     */
+    public void meld(MeldablePQueue<KeyType> other) {
+        if (other == this) {
+            throw new IllegalArgumentException();
+        }
+        boolean thisSmaller = index.size() <= other.index.size();
+        PacMap<KeyType, Node<KeyType>> small = thisSmaller ? index : other.index;
+        PacMap<KeyType, Node<KeyType>> big = thisSmaller ? other.index : index;
+
+        // Resolve conflicts first, since neither index may be modified while iterating it.
+        ArrayList<KeyType> conflicts = new ArrayList<>();
+        for (KeyType key : small) {
+            if (big.containsKey(key)) {
+                conflicts.add(key);
+            }
+        }
+        for (KeyType key : conflicts) {
+            Node<KeyType> mine = index.get(key);
+            double theirs = other.remove(key);
+            if (theirs < mine.priority) {
+                decreasePriority(mine, theirs);
+            }
+        }
+
+        root = link(root, other.root);
+        for (KeyType key : small) {
+            big.put(key, small.get(key));
+        }
+        index = big;
+        other.root = null;
+        other.index = new ProbingPacMap<>();
+    }
+
+    /**
+     * Lower the priority of `node` to `priority` by cutting it from its parent and linking it with
+     * the root. Requires `priority < node.priority`.
+     */
+    private void decreasePriority(Node<KeyType> node, double priority) {
+        assert priority < node.priority;
+        node.priority = priority;
+        if (node != root) {
+            cut(node);
+            root = link(root, node);
+        }
+    }
+
+    /**
+     * Detach `node` from the heap, relinking its children in its place. Afterward `node` has no
+     * parent, siblings, or children.
+     */
+    private void unlinkNode(Node<KeyType> node) {
+        Node<KeyType> children = mergePairs(node.child);
+        node.child = null;
+        if (node == root) {
+            root = children;
+        } else {
+            cut(node);
+            root = link(root, children);
+        }
+    }
+
+    /**
+     * Detach the subtree rooted at `node` from its parent. Requires `node` is not the root.
+     */
+    private void cut(Node<KeyType> node) {
+        assert node.prev != null;
+        if (node.prev.child == node) {
+            node.prev.child = node.sibling;
+        } else {
+            node.prev.sibling = node.sibling;
+        }
+        if (node.sibling != null) {
+            node.sibling.prev = node.prev;
+        }
+        node.prev = null;
+        node.sibling = null;
+    }
+
+    /**
+     * Link the heaps rooted at `a` and `b` (either of which may be null) by making the root with
+     * the larger priority the first child of the other, and return the resulting root. Requires
+     * `a` and `b` have no siblings or parents.
+     */
+    private static <KeyType> Node<KeyType> link(Node<KeyType> a, Node<KeyType> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (b.priority < a.priority) {
+            Node<KeyType> temp = a;
+            a = b;
+            b = temp;
+        }
+        b.sibling = a.child;
+        if (a.child != null) {
+            a.child.prev = b;
+        }
+        b.prev = a;
+        a.child = b;
+        return a;
+    }
+
+    /**
+     * Combine the sibling list starting at `first` into a single heap using the standard two-pass
+     * pairing strategy, and return its root (or null if `first` is null).
+     */
+    private Node<KeyType> mergePairs(Node<KeyType> first) {
+        if (first == null) {
+            return null;
+        }
+        pairs.clear();
+        Node<KeyType> a = first;
+        while (a != null) {
+            Node<KeyType> b = a.sibling;
+            a.prev = null;
+            a.sibling = null;
+            if (b == null) {
+                pairs.add(a);
+                break;
+            }
+            Node<KeyType> next = b.sibling;
+            b.prev = null;
+            b.sibling = null;
+            pairs.add(link(a, b));
+            a = next;
+        }
+        Node<KeyType> result = pairs.getLast();
+        for (int i = pairs.size() - 2; i >= 0; i--) {
+            result = link(pairs.get(i), result);
+        }
+        pairs.clear();
+        return result;
+    }
+}
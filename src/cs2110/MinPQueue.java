@@ -1,12 +1,24 @@
 package cs2110;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 
 /**
  * A min priority queue of distinct elements of type `KeyType` associated with (extrinsic) double
  * priorities. Supports updating the priorities of elements currently in the queue, and guarantees
  * O(log N) performance for all modifying operations, where N is the queue size.
+ *
+ * A queue may optionally be created in lazy-cancellation mode, in which `cancel()` only marks an
+ * element as cancelled and cancelled elements are dropped in bulk once they make up more than a
+ * given fraction of the heap.
+ *
+ * A queue may also be switched into buffered mode with `setBuffered()`, in which `addOrUpdate()`
+ * only records the new priority, and the recorded changes are applied together by the next
+ * operation that needs the heap order.
  */
 public class MinPQueue<KeyType> {
 
@@ -30,11 +42,56 @@ public class MinPQueue<KeyType> {
      */
     private final PacMap<KeyType, Integer> index;
 
+    /**
+     * The fraction of `heap` that cancelled elements may occupy before the heap is compacted, or 0
+     * if cancellation is eager. Satisfies `0 <= cancellationThreshold <= 1`.
+     */
+    private final double cancellationThreshold;
+
+    /**
+     * The elements that have been cancelled but are still in `heap` (mapped to `true`), or null
+     * if nothing has ever been cancelled lazily. Cancelled elements remain in `index`.
+     */
+    private PacMap<KeyType, Boolean> cancelled;
+
+    /**
+     * The total number of calls to `swap()` over the lifetime of this queue. Read by
+     * performance-regression tests, which fail if a workload's swap count exceeds its budget.
+     */
+    long swapCount;
+
+    /**
+     * The priorities set by `addOrUpdate()` in buffered mode that have not yet been applied to
+     * `heap`, or null if this queue is not in buffered mode. An element mapped here is contained
+     * in this queue with the mapped priority, regardless of its entry in `heap` (if any).
+     */
+    private PacMap<KeyType, Double> pending;
+
+    /**
+     * The number of elements in `pending` that were not contained in this queue when first
+     * buffered, and so will be added to it when `pending` is applied.
+     */
+    private int pendingAdditions;
+
 
     /**
      * Create an empty queue.
      */
     public MinPQueue() {
+        this(0);
+    }
+
+    /**
+     * Create an empty queue in lazy-cancellation mode. `cancel()` will leave cancelled elements in
+     * the heap until they reach its root or until they make up more than `cancellationThreshold`
+     * of the heap, at which point all of them are removed by rebuilding the heap in O(N) time. A
+     * threshold of 0 makes cancellation eager. Requires `0 <= cancellationThreshold <= 1`.
+     */
+    public MinPQueue(double cancellationThreshold) {
+        if (!(cancellationThreshold >= 0 && cancellationThreshold <= 1)) {
+            throw new IllegalArgumentException();
+        }
+        this.cancellationThreshold = cancellationThreshold;
         index = new ProbingPacMap<>();
         heap = new ArrayList<>();
     }
@@ -43,14 +100,62 @@ public class MinPQueue<KeyType> {
      * Return whether this queue contains no elements.
      */
     public boolean isEmpty() {
-        return heap.isEmpty();
+        return size() == 0;
     }
 
     /**
-     * Return the number of elements contained in this queue.
+     * Return the number of elements contained in this queue. Cancelled elements are not counted.
      */
     public int size() {
-        return heap.size();
+        return heap.size() - cancelledCount() + pendingAdditions;
+    }
+
+    /**
+     * Return the number of cancelled elements still occupying `heap`.
+     */
+    private int cancelledCount() {
+        return cancelled == null ? 0 : cancelled.size();
+    }
+
+    /**
+     * Return whether `key` is contained in this queue (and has not been cancelled). Runs in
+     * expected O(1) time.
+     */
+    public boolean contains(KeyType key) {
+        if (pending != null && pending.containsKey(key)) {
+            return true;
+        }
+        return index.containsKey(key) && !isCancelled(key);
+    }
+
+    /**
+     * Return the priority associated with `key`. Throws a `NoSuchElementException` if `key` is not
+     * contained in this queue.
+     */
+    public double priorityOf(KeyType key) {
+        if (!contains(key)) {
+            throw new NoSuchElementException();
+        }
+        if (pending != null && pending.containsKey(key)) {
+            return pending.get(key);
+        }
+        return heap.get(index.get(key)).priority;
+    }
+
+    /**
+     * Return whether `key` has been lazily cancelled but not yet dropped from `heap`.
+     */
+    private boolean isCancelled(KeyType key) {
+        return cancelled != null && cancelled.size() > 0 && cancelled.containsKey(key);
+    }
+
+    /**
+     * Drop cancelled elements from the root of `heap` until the root is live or `heap` is empty.
+     */
+    private void skipCancelled() {
+        while (!heap.isEmpty() && isCancelled(heap.getFirst().key)) {
+            cancelled.remove(removeAt(0).key);
+        }
     }
 
     /**
@@ -59,6 +164,8 @@ public class MinPQueue<KeyType> {
      * Throws a `NoSuchElementException` if this queue is empty.
      */
     public KeyType peek() {
+        applyPending();
+        skipCancelled();
         // Propagate exception from `List::getFirst()` if empty.
         return heap.getFirst().key();
     }
@@ -68,6 +175,8 @@ public class MinPQueue<KeyType> {
      * `NoSuchElementException` if this queue is empty.
      */
     public double minPriority() {
+        applyPending();
+        skipCancelled();
         return heap.getFirst().priority();
     }
 
@@ -78,6 +187,7 @@ public class MinPQueue<KeyType> {
     private void swap(int i, int j) {
         assert i >= 0 && i < heap.size();
         assert j >= 0 && j < heap.size();
+        swapCount++;
 
         Entry<KeyType> temp = heap.get(i);
         heap.set(i, heap.get(j));
@@ -202,11 +312,56 @@ public class MinPQueue<KeyType> {
      * Otherwise, add it to this queue with that priority.
      */
     public void addOrUpdate(KeyType key, double priority) {
+        if (pending != null) {
+            if (!pending.containsKey(key) && !contains(key)) {
+                pendingAdditions++;
+            }
+            pending.put(key, priority);
+            return;
+        }
+        PacTelemetry.HeapOperationEvent event = beginOperation();
+        long swapsBefore = swapCount;
+
         if (!index.containsKey(key)) {
             add(key, priority);
         } else {
+            if (isCancelled(key)) {
+                cancelled.remove(key);
+            }
             update(key, priority);
         }
+
+        reportOperation(event, "addOrUpdate", swapsBefore);
+    }
+
+    /**
+     * Return a started JFR heap-operation event if a recording is running, or null otherwise.
+     */
+    private static PacTelemetry.HeapOperationEvent beginOperation() {
+        if (!PacTelemetry.active) {
+            return null;
+        }
+        PacTelemetry.HeapOperationEvent event = new PacTelemetry.HeapOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commit `event` (if it is not null) for operation `operation` if it exceeded its duration
+     * threshold, recording the swaps made since the count was `swapsBefore`.
+     */
+    private void reportOperation(PacTelemetry.HeapOperationEvent event, String operation,
+            long swapsBefore) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.size = size();
+            event.swaps = swapCount - swapsBefore;
+            event.commit();
+        }
     }
 
     /**
@@ -215,22 +370,321 @@ public class MinPQueue<KeyType> {
      * Throws NoSuchElementException if this queue is empty.
      */
     public KeyType remove() {
+        applyPending();
+        skipCancelled();
         if(heap.isEmpty()){
             throw new NoSuchElementException();
         }
 
-        KeyType key = heap.getFirst().key;
+        PacTelemetry.HeapOperationEvent event = beginOperation();
+        long swapsBefore = swapCount;
+        KeyType key = removeAt(0).key;
+        reportOperation(event, "remove", swapsBefore);
+        return key;
+    }
+
+    /**
+     * Remove element `key` from this queue and return its priority. Runs in O(log N) time. Throws
+     * a `NoSuchElementException` if `key` is not contained in this queue.
+     */
+    public double remove(KeyType key) {
+        applyPending();
+        if (!contains(key)) {
+            throw new NoSuchElementException();
+        }
+        return removeAt(index.get(key)).priority;
+    }
+
+    /**
+     * Cancel element `key`, so that it is no longer contained in this queue. If this queue is in
+     * lazy-cancellation mode, `key` stays in the heap until it reaches the root or the heap is
+     * compacted, which makes cancelling O(1) amortized; otherwise this is equivalent to
+     * `remove(key)`. Throws a `NoSuchElementException` if `key` is not contained in this queue.
+     */
+    public void cancel(KeyType key) {
+        applyPending();
+        if (cancellationThreshold == 0) {
+            remove(key);
+            return;
+        }
+        if (!contains(key)) {
+            throw new NoSuchElementException();
+        }
+        if (cancelled == null) {
+            cancelled = new ProbingPacMap<>();
+        }
+        cancelled.put(key, true);
+        if (cancelled.size() > cancellationThreshold * heap.size()) {
+            compact();
+        }
+    }
 
-        swap(0, heap.size()-1);
-        heap.removeLast();
-        index.remove(key);
+    /**
+     * Turn buffered mode on or off. In buffered mode, `addOrUpdate()` records the new priority of
+     * its element in O(1) expected time without touching the heap, and repeated updates of one
+     * element coalesce. `contains()`, `priorityOf()`, and `size()` see buffered changes
+     * immediately; the next operation that needs the heap order applies all of them at once.
+     * Turning buffered mode off applies any buffered changes.
+     */
+    public void setBuffered(boolean buffered) {
+        if (buffered) {
+            if (pending == null) {
+                pending = new ProbingPacMap<>();
+            }
+        } else {
+            applyPending();
+            pending = null;
+        }
+    }
+
+    /**
+     * Apply every buffered change to `heap`. If there are many relative to the heap size, the
+     * changes are written into `heap` in place and the heap invariant is restored by one O(N)
+     * `heapify()`; otherwise each change is applied as an individual O(log N) update.
+     */
+    private void applyPending() {
+        if (pending == null || pending.size() == 0) {
+            return;
+        }
+        PacMap<KeyType, Double> changes = pending;
+        pending = new ProbingPacMap<>();
+        pendingAdditions = 0;
+
+        int n = heap.size() + changes.size();
+        // Individual updates cost O(log N) swaps each and heapify O(N) in total, so rebuild when
+        // that is cheaper.
+        boolean rebuild = (long) changes.size() * (32 - Integer.numberOfLeadingZeros(n)) > n;
+        for (KeyType key : changes) {
+            double priority = changes.get(key);
+            if (isCancelled(key)) {
+                cancelled.remove(key);
+            }
+            if (!rebuild) {
+                if (index.containsKey(key)) {
+                    update(key, priority);
+                } else {
+                    add(key, priority);
+                }
+            } else if (index.containsKey(key)) {
+                heap.set(index.get(key), new Entry<>(key, priority));
+            } else {
+                heap.add(new Entry<>(key, priority));
+                index.put(key, heap.size() - 1);
+            }
+        }
+        if (rebuild) {
+            heapify();
+        }
+    }
 
-        //check for case that heap was originally only one element that is now removed
-        if(!heap.isEmpty()){
-            bubbleDown(0);
+    /**
+     * Drop every cancelled element from `heap` and restore the heap invariant bottom-up in O(N)
+     * time.
+     */
+    private void compact() {
+        int n = 0;
+        for (int i = 0; i < heap.size(); i++) {
+            Entry<KeyType> e = heap.get(i);
+            if (isCancelled(e.key)) {
+                index.remove(e.key);
+            } else {
+                heap.set(n, e);
+                index.put(e.key, n);
+                n++;
+            }
         }
+        heap.subList(n, heap.size()).clear();
+        cancelled = null;
+        heapify();
+    }
 
-        return key;
+    /**
+     * Restore the heap invariant over all of `heap` by bubbling down every internal node, last to
+     * first, in O(N) time. Requires `index` correctly maps every element to its index.
+     */
+    private void heapify() {
+        for (int i = heap.size() / 2 - 1; i >= 0; i--) {
+            bubbleDown(i);
+        }
+    }
+
+    /**
+     * Remove and return the entry at index `i` in `heap`, updating `index` and restoring the heap
+     * invariant. The last entry is moved straight into the hole rather than swapped there, so
+     * `index` is only written once for it before it bubbles. Requires `0 <= i < heap.size()`.
+     */
+    private Entry<KeyType> removeAt(int i) {
+        assert i >= 0 && i < heap.size();
+        Entry<KeyType> removed = heap.get(i);
+        Entry<KeyType> last = heap.removeLast();
+        index.remove(removed.key);
+
+        //check for case that the removed entry was the last one
+        if (i < heap.size()) {
+            heap.set(i, last);
+            index.put(last.key, i);
+            if (last.priority < removed.priority) {
+                bubbleUp(i);
+            } else {
+                bubbleDown(i);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove up to `k` elements with the smallest priorities from this queue and add them to
+     * `dest` in order of increasing priority. Returns the number of elements moved. If `k` is at
+     * least the size of this queue, the whole heap is sorted once and this queue is cleared without
+     * any per-element heap maintenance. Otherwise, if `k` is a large enough fraction of the queue
+     * that one O(N) rebuild is cheaper than `k` O(log N) removals, the `k` elements are found as
+     * in `peekK()` and the heap is rebuilt from the rest; if not, each is removed by moving a hole
+     * down from the root, which writes `index` once per level rather than swapping. Requires
+     * `k >= 0`.
+     */
+    public int drainTo(Collection<? super KeyType> dest, int k) {
+        assert k >= 0;
+        applyPending();
+        if (k >= size()) {
+            int n = size();
+            heap.sort(Comparator.comparingDouble(Entry::priority));
+            for (Entry<KeyType> e : heap) {
+                if (!isCancelled(e.key)) {
+                    dest.add(e.key);
+                }
+                index.remove(e.key);
+            }
+            heap.clear();
+            cancelled = null;
+            return n;
+        }
+        // As in `applyPending()`, rebuild when `k` removals would cost more than heapify.
+        if ((long) k * (32 - Integer.numberOfLeadingZeros(heap.size())) > heap.size()) {
+            drainByRebuild(dest, k);
+            return k;
+        }
+        for (int moved = 0; moved < k; ) {
+            KeyType key = removeRoot().key;
+            if (isCancelled(key)) {
+                cancelled.remove(key);
+            } else {
+                dest.add(key);
+                moved++;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Move the `k` elements with the smallest priorities to `dest` in order of increasing
+     * priority by exploring the frontier of the heap as `peekK()` does, drop every entry visited
+     * (including cancelled ones), and restore the heap invariant over the rest with one O(N)
+     * `heapify()`. Requires `k < size()`.
+     */
+    private void drainByRebuild(Collection<? super KeyType> dest, int k) {
+        // The visited entries form a subtree containing the root, so the rest keep their order.
+        boolean[] taken = new boolean[heap.size()];
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(
+                Comparator.comparingDouble(i -> heap.get(i).priority));
+        frontier.add(0);
+        int moved = 0;
+        while (moved < k) {
+            int i = frontier.remove();
+            taken[i] = true;
+            KeyType key = heap.get(i).key;
+            index.remove(key);
+            if (isCancelled(key)) {
+                cancelled.remove(key);
+            } else {
+                dest.add(key);
+                moved++;
+            }
+            int leftChild = i * 2 + 1;
+            if (leftChild < heap.size()) {
+                frontier.add(leftChild);
+                if (leftChild + 1 < heap.size()) {
+                    frontier.add(leftChild + 1);
+                }
+            }
+        }
+        int n = 0;
+        for (int i = 0; i < heap.size(); i++) {
+            if (!taken[i]) {
+                Entry<KeyType> e = heap.get(i);
+                if (n != i) {
+                    heap.set(n, e);
+                    index.put(e.key, n);
+                }
+                n++;
+            }
+        }
+        heap.subList(n, heap.size()).clear();
+        heapify();
+    }
+
+    /**
+     * Remove and return the root entry of `heap`, updating `index` and restoring the heap
+     * invariant. Instead of swapping the last entry down from the root, the hole left by the root
+     * is moved down to a leaf by promoting the smaller child at each level, writing `index` once
+     * per level; the last entry then fills the hole and bubbles up, usually not far, since it
+     * came from the bottom level. Requires `heap` is not empty.
+     */
+    private Entry<KeyType> removeRoot() {
+        Entry<KeyType> root = heap.getFirst();
+        Entry<KeyType> last = heap.removeLast();
+        index.remove(root.key);
+        if (heap.isEmpty()) {
+            return root;
+        }
+        int hole = 0;
+        int child = 1;
+        while (child < heap.size()) {
+            if (child + 1 < heap.size()
+                    && heap.get(child + 1).priority < heap.get(child).priority) {
+                child++;
+            }
+            Entry<KeyType> e = heap.get(child);
+            heap.set(hole, e);
+            index.put(e.key, hole);
+            hole = child;
+            child = hole * 2 + 1;
+        }
+        heap.set(hole, last);
+        index.put(last.key, hole);
+        bubbleUp(hole);
+        return root;
+    }
+
+    /**
+     * Return a list of up to `k` elements with the smallest priorities in this queue, in order of
+     * increasing priority, without modifying this queue. Runs in O(k log k) time by exploring the
+     * frontier of the heap with a small auxiliary heap of indices. Requires `k >= 0`.
+     */
+    public List<KeyType> peekK(int k) {
+        assert k >= 0;
+        applyPending();
+        int n = Math.min(k, size());
+        List<KeyType> result = new ArrayList<>(n);
+        if (n == 0) {
+            return result;
+        }
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(
+                Comparator.comparingDouble(i -> heap.get(i).priority));
+        frontier.add(0);
+        while (result.size() < n) {
+            int i = frontier.remove();
+            if (!isCancelled(heap.get(i).key)) {
+                result.add(heap.get(i).key);
+            }
+            int leftChild = i * 2 + 1;
+            if (leftChild < heap.size()) {
+                frontier.add(leftChild);
+                if (leftChild + 1 < heap.size()) {
+                    frontier.add(leftChild + 1);
+                }
+            }
+        }
+        return result;
     }
 
 }
@@ -33,4 +33,39 @@ public interface PacMap<K, V> extends Iterable<K> {
      * `NoSuchElementException` if no value is associated with that key. Requires `key` is not null.
      */
     V remove(K key);
-}
\ No newline at end of file
+
+    /**
+     * Stores in `out[i]` the value associated with `keys[i]`, or null if there is none, for every
+     * `i`, and returns the number of keys found. Implementations may look the keys up together
+     * faster than one at a time. Throws an `IllegalArgumentException` if `out` is shorter than
+     * `keys`. Requires `keys` contains no nulls.
+     */
+    default int getAll(K[] keys, V[] out) {
+        if (out.length < keys.length) {
+            throw new IllegalArgumentException();
+        }
+        int found = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (containsKey(keys[i])) {
+                out[i] = get(keys[i]);
+                found++;
+            } else {
+                out[i] = null;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns whether a value is associated with every key in `keys`. Implementations may look
+     * the keys up together faster than one at a time. Requires `keys` contains no nulls.
+     */
+    default boolean containsAll(K[] keys) {
+        for (K key : keys) {
+            if (!containsKey(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,241 @@
+package cs2110;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CopyOnWriteArrayList;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder (JFR) events for `ProbingPacMap` and `MinPQueue`, so that latency spikes
+ * can be attributed to table resizes, long probe sequences, or slow heap operations in JDK Mission
+ * Control. All events are in the "cs2110" category. Instrumented code only creates an event when
+ * `active` is set, so when no recording is running the events cost one static field read and
+ * allocate nothing.
+ *
+ * Periodic health samples are emitted only for instances registered with `monitor()`, so that
+ * unmonitored instances pay nothing for them.
+ */
+public final class PacTelemetry {
+
+    /**
+     * The number of slots a single `ProbingPacMap` lookup must examine to be reported as a long
+     * probe sequence.
+     */
+    public static final int LONG_PROBE_THRESHOLD = 64;
+
+    /**
+     * Whether any JFR recording is running. Kept up to date by a recorder listener.
+     */
+    static volatile boolean active;
+
+    private PacTelemetry() {
+    }
+
+    @Name("cs2110.PacMapResize")
+    @Label("PacMap Resize")
+    @Category({"cs2110", "PacMap"})
+    @Description("A ProbingPacMap rebuilt its table, doubling it unless tombstones made up most "
+            + "of its load")
+    static final class ResizeEvent extends Event {
+
+        @Label("Old Capacity")
+        int oldCapacity;
+
+        @Label("New Capacity")
+        int newCapacity;
+
+        @Label("Entries")
+        int size;
+
+        @Label("Tombstones Dropped")
+        int tombstonesDropped;
+    }
+
+    @Name("cs2110.PacMapLongProbe")
+    @Label("PacMap Long Probe Sequence")
+    @Category({"cs2110", "PacMap"})
+    @Description("A ProbingPacMap lookup examined at least LONG_PROBE_THRESHOLD slots")
+    static final class LongProbeEvent extends Event {
+
+        @Label("Probe Length")
+        int probeLength;
+
+        @Label("Capacity")
+        int capacity;
+    }
+
+    @Name("cs2110.HeapOperation")
+    @Label("Slow Heap Operation")
+    @Category({"cs2110", "MinPQueue"})
+    @Description("A MinPQueue operation that took longer than the threshold")
+    @Threshold("1 ms")
+    static final class HeapOperationEvent extends Event {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Queue Size")
+        int size;
+
+        @Label("Swaps")
+        long swaps;
+    }
+
+    @Name("cs2110.PacMapHealth")
+    @Label("PacMap Health")
+    @Category({"cs2110", "PacMap"})
+    @Description("Periodic sample of a monitored ProbingPacMap's table")
+    @Period("1 s")
+    @StackTrace(false)
+    static final class PacMapHealthEvent extends Event {
+
+        @Label("Name")
+        String name;
+
+        @Label("Entries")
+        int size;
+
+        @Label("Capacity")
+        int capacity;
+
+        @Label("Tombstones")
+        int tombstones;
+
+        @Label("Load Factor")
+        double loadFactor;
+
+        @Label("Total Probes")
+        long probes;
+    }
+
+    @Name("cs2110.MinPQueueSize")
+    @Label("MinPQueue Size")
+    @Category({"cs2110", "MinPQueue"})
+    @Description("Periodic sample of a monitored MinPQueue's size")
+    @Period("1 s")
+    @StackTrace(false)
+    static final class QueueSizeEvent extends Event {
+
+        @Label("Name")
+        String name;
+
+        @Label("Size")
+        int size;
+
+        @Label("Total Swaps")
+        long swaps;
+    }
+
+    /**
+     * A monitored instance, held weakly so that monitoring does not keep it alive.
+     */
+    private record Monitored<T>(String name, WeakReference<T> ref) {
+
+    }
+
+    private static final CopyOnWriteArrayList<Monitored<ProbingPacMap<?, ?>>> MAPS =
+            new CopyOnWriteArrayList<>();
+
+    private static final CopyOnWriteArrayList<Monitored<MinPQueue<?>>> QUEUES =
+            new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers the periodic events with JFR when first initialized. Registering them initializes
+     * the recorder, which takes hundreds of milliseconds, so it is deferred until something is
+     * first monitored.
+     */
+    private static final class PeriodicHooks {
+
+        static {
+            FlightRecorder.addPeriodicEvent(PacMapHealthEvent.class, PacTelemetry::emitMapHealth);
+            FlightRecorder.addPeriodicEvent(QueueSizeEvent.class, PacTelemetry::emitQueueSizes);
+        }
+
+        static void ensureRegistered() {
+        }
+    }
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                updateActive();
+            }
+        });
+        updateActive();
+    }
+
+    /**
+     * Set `active` according to whether any recording is running.
+     */
+    private static void updateActive() {
+        boolean running = false;
+        if (FlightRecorder.isInitialized()) {
+            for (Recording r : FlightRecorder.getFlightRecorder().getRecordings()) {
+                running |= r.getState() == RecordingState.RUNNING;
+            }
+        }
+        active = running;
+    }
+
+    /**
+     * Emit periodic `cs2110.PacMapHealth` samples for `map`, labelled `name`, for as long as it is
+     * reachable.
+     */
+    public static void monitor(String name, ProbingPacMap<?, ?> map) {
+        PeriodicHooks.ensureRegistered();
+        MAPS.add(new Monitored<>(name, new WeakReference<>(map)));
+    }
+
+    /**
+     * Emit periodic `cs2110.MinPQueueSize` samples for `queue`, labelled `name`, for as long as it
+     * is reachable.
+     */
+    public static void monitor(String name, MinPQueue<?> queue) {
+        PeriodicHooks.ensureRegistered();
+        QUEUES.add(new Monitored<>(name, new WeakReference<>(queue)));
+    }
+
+    private static void emitMapHealth() {
+        for (Monitored<ProbingPacMap<?, ?>> m : MAPS) {
+            ProbingPacMap<?, ?> map = m.ref().get();
+            if (map == null) {
+                MAPS.remove(m);
+                continue;
+            }
+            PacMapHealthEvent event = new PacMapHealthEvent();
+            event.name = m.name();
+            event.size = map.size();
+            event.capacity = map.capacity();
+            event.tombstones = map.tombstoneCount();
+            event.loadFactor = (double) (event.size + event.tombstones) / event.capacity;
+            event.probes = map.probeCount;
+            event.commit();
+        }
+    }
+
+    private static void emitQueueSizes() {
+        for (Monitored<MinPQueue<?>> m : QUEUES) {
+            MinPQueue<?> queue = m.ref().get();
+            if (queue == null) {
+                QUEUES.remove(m);
+                continue;
+            }
+            QueueSizeEvent event = new QueueSizeEvent();
+            event.name = m.name();
+            event.size = queue.size();
+            event.swaps = queue.swapCount;
+            event.commit();
+        }
+    }
+}
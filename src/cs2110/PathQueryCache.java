@@ -0,0 +1,143 @@
+package cs2110;
+
+/**
+ * A bounded cache of point-to-point distance queries on a static graph, in front of a
+ * `ShortestPaths` engine and heuristic. Results are keyed by `(source, target)` in a
+ * `LongLongKeyPacMap`, so a lookup allocates nothing. When the cache is full, an entry is evicted
+ * by the CLOCK policy: a hand sweeps a ring of the cached keys, sparing (once) each entry that was
+ * hit since the hand last passed it, so entries that keep being queried stay cached, at the cost
+ * of one flag per entry instead of the list reordering of exact LRU.
+ *
+ * Since the graph is static, cached distances never become stale. Not thread-safe.
+ */
+public class PathQueryCache {
+
+    /**
+     * A cached result: the distance, and whether it has been hit since the hand last passed it.
+     */
+    private static final class Result {
+
+        final double distance;
+
+        boolean referenced;
+
+        Result(double distance) {
+            this.distance = distance;
+        }
+    }
+
+    private final ShortestPaths paths;
+
+    private final ShortestPaths.Heuristic heuristic;
+
+    /**
+     * The maximum number of cached results.
+     */
+    private final int capacity;
+
+    /**
+     * The cached results, keyed by `(source, target)`.
+     */
+    private final LongLongKeyPacMap<Result> results = new LongLongKeyPacMap<>();
+
+    /**
+     * The keys of the cached results, in the order the hand visits them. Entries
+     * `[0..results.size())` are in use.
+     */
+    private final int[] sources;
+    private final int[] targets;
+
+    /**
+     * The index in `sources` and `targets` of the next eviction candidate.
+     */
+    private int hand;
+
+    private long hits;
+
+    private long misses;
+
+    /**
+     * Create a cache of at most `capacity` results, answering misses with A* on `paths` guided by
+     * `heuristic`. Requires `capacity > 0` and `heuristic` is admissible.
+     */
+    public PathQueryCache(ShortestPaths paths, ShortestPaths.Heuristic heuristic, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.paths = paths;
+        this.heuristic = heuristic;
+        this.capacity = capacity;
+        sources = new int[capacity];
+        targets = new int[capacity];
+    }
+
+    /**
+     * Return the length of a shortest path from `source` to `target`, or positive infinity if
+     * there is none, from the cache if possible. Requires both vertices are in the graph.
+     */
+    public double distance(int source, int target) {
+        Result cached = results.getOrDefault(source, target, null);
+        if (cached != null) {
+            hits++;
+            cached.referenced = true;
+            return cached.distance;
+        }
+        misses++;
+        double distance = paths.distance(source, target, heuristic);
+        int slot;
+        if (results.size() < capacity) {
+            slot = results.size();
+        } else {
+            slot = evict();
+        }
+        sources[slot] = source;
+        targets[slot] = target;
+        results.put(source, target, new Result(distance));
+        return distance;
+    }
+
+    /**
+     * Advance the hand past referenced entries, clearing their flags, and remove the first
+     * unreferenced entry. Return its index in the ring. Requires the cache is full.
+     */
+    private int evict() {
+        while (true) {
+            int slot = hand;
+            hand = (hand + 1) % capacity;
+            Result result = results.get(sources[slot], targets[slot]);
+            if (!result.referenced) {
+                results.remove(sources[slot], targets[slot]);
+                return slot;
+            }
+            result.referenced = false;
+        }
+    }
+
+    /**
+     * Return the maximum number of cached results.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Return the number of cached results.
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Return the number of queries answered from the cache.
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Return the number of queries that ran a search.
+     */
+    public long misses() {
+        return misses;
+    }
+}
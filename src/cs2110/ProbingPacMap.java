@@ -2,6 +2,11 @@ package cs2110;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
 
 /**
  * A map with keys of type 'K' and values of type `V`, implemented using a hash table with linear
@@ -61,6 +66,13 @@ public class ProbingPacMap<K, V> implements PacMap<K, V> {
 
     private int tombstoneNum;
 
+    /**
+     * The total number of table slots examined by `findEntry()` over the lifetime of this map.
+     * Read by performance-regression tests, which fail if a workload's probe count exceeds its
+     * budget.
+     */
+    long probeCount;
+
     /**
      * Create a new empty `ProbingPacMap`.
      */
@@ -71,6 +83,213 @@ public class ProbingPacMap<K, V> implements PacMap<K, V> {
         tombstoneNum = 0;
     }
 
+    /**
+     * Create a new empty `ProbingPacMap` whose table has length `capacity`. Requires `capacity`
+     * is a power of 2 no less than `INITIAL_CAPACITY`.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private ProbingPacMap(int capacity) {
+        assert capacity >= INITIAL_CAPACITY && Integer.bitCount(capacity) == 1;
+        entries = new Entry[capacity];
+    }
+
+    /**
+     * The minimum number of elements a bulk-load task handles before splitting further.
+     */
+    private static final int BULK_CHUNK = 1 << 14;
+
+    /**
+     * Return a new map associating each `keys[i]` with `values[i]`, built in parallel on the
+     * common fork-join pool. If a key occurs more than once, the value at its last occurrence
+     * wins, as if the pairs were `put()` in order. Requires `keys` and `values` have equal lengths
+     * and contain no nulls.
+     */
+    public static <K, V> ProbingPacMap<K, V> bulkLoad(K[] keys, V[] values) {
+        return bulkLoad(keys, values, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Return a new map associating each `keys[i]` with `values[i]`, built in parallel on `pool`.
+     * If a key occurs more than once, the value at its last occurrence wins, as if the pairs were
+     * `put()` in order. Requires `keys` and `values` have equal lengths and contain no nulls.
+     */
+    public static <K, V> ProbingPacMap<K, V> bulkLoad(K[] keys, V[] values, ForkJoinPool pool) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException();
+        }
+        return load(keys, values, pool);
+    }
+
+    /**
+     * Return a new map associating `keyOf.apply(item)` with `valueOf.apply(item)` for each item of
+     * `items`, built in parallel on `pool`. If a key occurs more than once, the value from the
+     * item latest in encounter order wins. Requires the keys and values are not null.
+     */
+    public static <T, K, V> ProbingPacMap<K, V> bulkLoad(Stream<T> items,
+            Function<? super T, ? extends K> keyOf, Function<? super T, ? extends V> valueOf,
+            ForkJoinPool pool) {
+        // A parallel stream runs on the pool of the task that evaluates it.
+        Object[] all = pool.submit(() -> items.parallel().toArray()).join();
+        Object[] keys = new Object[all.length];
+        Object[] values = new Object[all.length];
+        forEach(pool, chunkCount(all.length), c -> {
+            for (int i = chunkStart(c, all.length), end = chunkStart(c + 1, all.length); i < end;
+                    i++) {
+                @SuppressWarnings("unchecked")
+                T item = (T) all[i];
+                keys[i] = keyOf.apply(item);
+                values[i] = valueOf.apply(item);
+            }
+        });
+        return load(keys, values, pool);
+    }
+
+    /**
+     * Build a map from the pairs `(keys[i], values[i])`. The table is sized once for all of them.
+     * Home slots are hashed in parallel, and the pairs are counting-sorted by the region of the
+     * table their home slot lies in. Each region is then filled by its own task without locking,
+     * since linear probing from a home slot only writes slots at or after it. A pair whose probe
+     * sequence runs off the end of its region is deferred and inserted sequentially at the end;
+     * with the table at most half full this is rare. Requires `keys.length == values.length`.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> ProbingPacMap<K, V> load(Object[] keys, Object[] values,
+            ForkJoinPool pool) {
+        int n = keys.length;
+        int capacity = INITIAL_CAPACITY;
+        while (n > MAX_LOAD_FACTOR * capacity) {
+            capacity *= 2;
+        }
+        ProbingPacMap<K, V> map = new ProbingPacMap<>(capacity);
+        Entry<K, V>[] table = map.entries;
+
+        // Use several regions per worker so that uneven regions balance out, but keep each
+        // region long enough that few probe sequences cross its end.
+        int regions = Integer.highestOneBit(Math.max(1, pool.getParallelism() * 8));
+        while (regions > 1 && capacity / regions < 1024) {
+            regions /= 2;
+        }
+        int regionShift = Integer.numberOfTrailingZeros(capacity / regions);
+
+        // Hash every key, and count how many keys each chunk sends to each region.
+        int chunks = chunkCount(n);
+        int[] home = new int[n];
+        int[][] counts = new int[chunks][regions];
+        forEach(pool, chunks, c -> {
+            int[] count = counts[c];
+            for (int i = chunkStart(c, n), end = chunkStart(c + 1, n); i < end; i++) {
+                home[i] = Math.abs(keys[i].hashCode() % table.length);
+                count[home[i] >>> regionShift]++;
+            }
+        });
+
+        // Scatter the pair indices into region order, preserving input order within a region so
+        // that later duplicates still overwrite earlier ones.
+        int[] regionStart = new int[regions + 1];
+        for (int r = 0, next = 0; r < regions; r++) {
+            regionStart[r] = next;
+            for (int c = 0; c < chunks; c++) {
+                int count = counts[c][r];
+                counts[c][r] = next;
+                next += count;
+            }
+        }
+        regionStart[regions] = n;
+        int[] order = new int[n];
+        forEach(pool, chunks, c -> {
+            int[] offset = counts[c];
+            for (int i = chunkStart(c, n), end = chunkStart(c + 1, n); i < end; i++) {
+                order[offset[home[i] >>> regionShift]++] = i;
+            }
+        });
+
+        // Fill each region independently. A task compacts the pairs it had to defer to the front
+        // of its own part of `order`.
+        int[] added = new int[regions];
+        int[] deferred = new int[regions];
+        forEach(pool, regions, r -> {
+            int limit = (r + 1) << regionShift;
+            int kept = regionStart[r];
+            for (int j = regionStart[r]; j < regionStart[r + 1]; j++) {
+                int i = order[j];
+                int slot = home[i];
+                while (slot < limit && table[slot] != null && !table[slot].key.equals(keys[i])) {
+                    slot++;
+                }
+                if (slot == limit) {
+                    order[kept++] = i;
+                } else {
+                    if (table[slot] == null) {
+                        added[r]++;
+                    }
+                    table[slot] = new Entry<>((K) keys[i], (V) values[i]);
+                }
+            }
+            deferred[r] = kept - regionStart[r];
+        });
+
+        for (int r = 0; r < regions; r++) {
+            map.size += added[r];
+        }
+        for (int r = 0; r < regions; r++) {
+            for (int j = regionStart[r]; j < regionStart[r] + deferred[r]; j++) {
+                map.put((K) keys[order[j]], (V) values[order[j]]);
+            }
+        }
+        map.assertInv();
+        return map;
+    }
+
+    /**
+     * Return the number of bulk-load chunks needed to cover `n` elements.
+     */
+    private static int chunkCount(int n) {
+        return Math.max(1, (n + BULK_CHUNK - 1) / BULK_CHUNK);
+    }
+
+    /**
+     * Return the index of the first element of chunk `c` of `n` elements.
+     */
+    private static int chunkStart(int c, int n) {
+        return (int) Math.min(n, (long) c * BULK_CHUNK);
+    }
+
+    /**
+     * Run `body` on every index in `[0..count)` in parallel on `pool`, and wait for all of them.
+     */
+    private static void forEach(ForkJoinPool pool, int count, IntConsumer body) {
+        pool.invoke(new ForEachTask(body, 0, count));
+    }
+
+    /**
+     * Runs a body on a range of indices, splitting in half until each task has one index.
+     */
+    @SuppressWarnings("serial")
+    private static final class ForEachTask extends RecursiveAction {
+
+        private final IntConsumer body;
+        private final int lo;
+        private final int hi;
+
+        ForEachTask(IntConsumer body, int lo, int hi) {
+            this.body = body;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= 1) {
+                if (lo < hi) {
+                    body.accept(lo);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ForEachTask(body, lo, mid), new ForEachTask(body, mid, hi));
+        }
+    }
+
     /**
      * Returns the number of keys currently associated with values in this map. Runs in O(1) time.
      */
@@ -99,11 +318,23 @@ public class ProbingPacMap<K, V> implements PacMap<K, V> {
 
     /**
      * Doubles the length of entries and copies over all elements into correct buckets based on
-     * their new hash values.
+     * their new hash values. If tombstones rather than entries make up most of the load, the
+     * table is instead rebuilt at its current length, so that a map whose size stays bounded
+     * under a stream of puts and removes does not keep growing.
      */
 
     private void resize() {
-        Entry<K, V>[] newEntries = (Entry<K, V>[]) new Entry[entries.length * 2];
+        PacTelemetry.ResizeEvent event = null;
+        if (PacTelemetry.active) {
+            event = new PacTelemetry.ResizeEvent();
+            event.begin();
+        }
+        int oldCapacity = entries.length;
+        int tombstonesDropped = tombstoneNum;
+
+        int newLength = size > MAX_LOAD_FACTOR / 2 * entries.length ? entries.length * 2
+                : entries.length;
+        Entry<K, V>[] newEntries = (Entry<K, V>[]) new Entry[newLength];
         Iterator<K> it = this.iterator();
         while (it.hasNext()) {
             Entry<K, V> e = entries[findEntry(it.next())];
@@ -112,6 +343,14 @@ public class ProbingPacMap<K, V> implements PacMap<K, V> {
         entries = newEntries;
         tombstoneNum = 0;
         assertInv();
+
+        if (event != null && event.shouldCommit()) {
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = entries.length;
+            event.size = size;
+            event.tombstonesDropped = tombstonesDropped;
+            event.commit();
+        }
     }
 
     /**
@@ -123,20 +362,219 @@ public class ProbingPacMap<K, V> implements PacMap<K, V> {
         int startIndex = hashValue(key, entries);
         int firstTombstone = -1;
         for (int i = 0; i < entries.length; i++) {
+            probeCount++;
             int index = (startIndex + i) % entries.length;
             if (entries[index] == null) {
+                reportProbes(i + 1);
                 return firstTombstone == -1 ? index : firstTombstone;
             } else if (entries[index] == TOMBSTONE) {
                 if (firstTombstone == -1) {
                     firstTombstone = index;
                 }
             } else if (entries[index].key.equals(key)) {
+                reportProbes(i + 1);
                 return index;
             }
         }
+        reportProbes(entries.length);
         return firstTombstone;//Only triggers if key is not in there and map is full
     }
 
+    /**
+     * The number of keys whose probe sequences a batch lookup advances together.
+     */
+    private static final int LOOKUP_GROUP = 16;
+
+    /**
+     * For each `i` in `[0..keys.length)`, store in `found[i]` the index in `entries` of the entry
+     * for `keys[i]`, or -1 if there is none. Stops early and returns false as soon as a key is
+     * found to be absent if `stopAtMiss`; otherwise returns true.
+     *
+     * Keys are processed in groups of `LOOKUP_GROUP`. All of a group's home slots are hashed
+     * first, and then each round advances every unresolved probe sequence in the group by one
+     * slot. The table reads and key comparisons of different keys within a round do not depend on
+     * each other, so the processor can overlap their cache misses instead of waiting for each
+     * lookup in turn, as it must when keys are looked up one at a time.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean findEntries(K[] keys, int[] found, boolean stopAtMiss) {
+        int[] slot = new int[LOOKUP_GROUP];
+        int[] pending = new int[LOOKUP_GROUP];
+        // Java cannot create an array of a generic type, so create a raw one; it only ever
+        // holds entries of this map.
+        @SuppressWarnings("rawtypes")
+        Entry<K, V>[] probed = (Entry<K, V>[]) new Entry[LOOKUP_GROUP];
+        Object[] probedKey = new Object[LOOKUP_GROUP];
+        int length = entries.length;
+        for (int base = 0; base < keys.length; base += LOOKUP_GROUP) {
+            int count = Math.min(LOOKUP_GROUP, keys.length - base);
+            for (int j = 0; j < count; j++) {
+                slot[j] = hashValue(keys[base + j], entries);
+                pending[j] = j;
+            }
+            // Bound each probe sequence by the table length, as `findEntry()` does.
+            for (int round = 0; count > 0 && round < length; round++) {
+                // Read the probed slots, then the keys of their entries, then compare, so that
+                // the reads of each pass are independent of one another.
+                for (int p = 0; p < count; p++) {
+                    probed[p] = entries[slot[pending[p]]];
+                }
+                for (int p = 0; p < count; p++) {
+                    probedKey[p] = probed[p] == null ? null : probed[p].key;
+                }
+                probeCount += count;
+                int stillPending = 0;
+                for (int p = 0; p < count; p++) {
+                    int j = pending[p];
+                    if (probed[p] == null) {
+                        if (stopAtMiss) {
+                            return false;
+                        }
+                        found[base + j] = -1;
+                    } else if (probed[p] != TOMBSTONE && probedKey[p].equals(keys[base + j])) {
+                        found[base + j] = slot[j];
+                    } else {
+                        slot[j] = (slot[j] + 1) % length;
+                        pending[stillPending++] = j;
+                    }
+                }
+                count = stillPending;
+            }
+            for (int p = 0; p < count; p++) {
+                if (stopAtMiss) {
+                    return false;
+                }
+                found[base + pending[p]] = -1;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stores in `out[i]` the value associated with `keys[i]`, or null if there is none, and
+     * returns the number of keys found. The probe sequences of groups of keys are interleaved so
+     * that their memory accesses overlap, which is faster than calling `get()` for each key when
+     * the table does not fit in cache. Throws an `IllegalArgumentException` if `out` is shorter
+     * than `keys`. Requires `keys` contains no nulls.
+     */
+    @Override
+    public int getAll(K[] keys, V[] out) {
+        if (out.length < keys.length) {
+            throw new IllegalArgumentException();
+        }
+        int[] found = new int[keys.length];
+        findEntries(keys, found, false);
+        int hits = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (found[i] >= 0) {
+                out[i] = entries[found[i]].value;
+                hits++;
+            } else {
+                out[i] = null;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Returns whether a value is associated with every key in `keys`, looking the keys up with
+     * interleaved probe sequences as `getAll()` does. Requires `keys` contains no nulls.
+     */
+    @Override
+    public boolean containsAll(K[] keys) {
+        return findEntries(keys, new int[keys.length], true);
+    }
+
+    /**
+     * If this map has a key matching `probe`, return its index in `entries`. Otherwise, return the
+     * index at which `findEntry()` would place the key `probe` describes. Mirrors `findEntry()`,
+     * but hashes and compares through `probe` instead of a key object.
+     */
+    private int findMatch(KeyProbe<? super K> probe) {
+        int startIndex = Math.abs(probe.keyHashCode() % entries.length);
+        int firstTombstone = -1;
+        for (int i = 0; i < entries.length; i++) {
+            probeCount++;
+            int index = (startIndex + i) % entries.length;
+            if (entries[index] == null) {
+                reportProbes(i + 1);
+                return firstTombstone == -1 ? index : firstTombstone;
+            } else if (entries[index] == TOMBSTONE) {
+                if (firstTombstone == -1) {
+                    firstTombstone = index;
+                }
+            } else if (probe.matches(entries[index].key)) {
+                reportProbes(i + 1);
+                return index;
+            }
+        }
+        reportProbes(entries.length);
+        return firstTombstone;
+    }
+
+    /**
+     * Returns whether this map has a key matching `probe`, without creating a key.
+     */
+    public boolean containsKeyMatching(KeyProbe<? super K> probe) {
+        Entry<K, V> e = entries[findMatch(probe)];
+        return e != null && e != TOMBSTONE;
+    }
+
+    /**
+     * Returns the value associated with the key matching `probe`, without creating a key. Throws
+     * a `NoSuchElementException` if no key matches.
+     */
+    public V getMatching(KeyProbe<? super K> probe) {
+        Entry<K, V> e = entries[findMatch(probe)];
+        if (e == null || e == TOMBSTONE) {
+            throw new NoSuchElementException();
+        }
+        return e.value;
+    }
+
+    /**
+     * Associates `value` with the key matching `probe`. A key is only created, with
+     * `probe.toKey()`, if no key in this map matches. Requires `value` is not null.
+     */
+    public void putMatching(KeyProbe<K> probe, V value) {
+        int index = findMatch(probe);
+        Entry<K, V> e = entries[index];
+        if (e != null && e != TOMBSTONE) {
+            entries[index] = new Entry<>(e.key, value);
+            return;
+        }
+        put(probe.toKey(), value);
+    }
+
+    /**
+     * Emits a JFR long-probe event if a lookup examined `probes` slots and that is at least
+     * `PacTelemetry.LONG_PROBE_THRESHOLD`.
+     */
+    private void reportProbes(int probes) {
+        if (probes >= PacTelemetry.LONG_PROBE_THRESHOLD && PacTelemetry.active) {
+            PacTelemetry.LongProbeEvent event = new PacTelemetry.LongProbeEvent();
+            if (event.shouldCommit()) {
+                event.probeLength = probes;
+                event.capacity = entries.length;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Returns the length of the hash table backing this map.
+     */
+    int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Returns the number of tombstones in the hash table backing this map.
+     */
+    int tombstoneCount() {
+        return tombstoneNum;
+    }
+
     @Override
     public boolean containsKey(K key) {
         int index = findEntry(key);
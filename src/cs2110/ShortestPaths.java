@@ -0,0 +1,221 @@
+package cs2110;
+
+import java.util.Arrays;
+
+/**
+ * Answers shortest-path queries on a `CsrGraph` using Dijkstra's algorithm, or A* when given a
+ * heuristic. Every search drives an `IntMinPQueue` through its `addOrUpdate()` decrease-key path.
+ * The per-search scratch arrays are kept per thread and reused between queries, so distance
+ * queries allocate nothing after a thread's first query. An instance may be shared by many
+ * threads.
+ */
+public class ShortestPaths {
+
+    /**
+     * Estimates the distance between two vertices. A* returns shortest paths only if the estimate
+     * is admissible, i.e., never more than the true distance.
+     */
+    @FunctionalInterface
+    public interface Heuristic {
+
+        /**
+         * Return a lower bound on the distance from vertex `v` to vertex `target`.
+         */
+        double estimate(int v, int target);
+    }
+
+    /**
+     * The heuristic that estimates every distance as 0, which turns A* into Dijkstra's algorithm.
+     */
+    public static final Heuristic NONE = (v, target) -> 0;
+
+    /**
+     * The state of one search, reused by successive searches on the same thread.
+     */
+    private static final class Scratch {
+
+        /**
+         * The frontier, keyed by vertex with priority `dist + estimate`.
+         */
+        final IntMinPQueue frontier;
+
+        /**
+         * The best known distance to each vertex. Only meaningful where `stamp[v] == epoch`.
+         */
+        final double[] dist;
+
+        /**
+         * The predecessor of each vertex on its best known path, or -1 for the source. Only
+         * meaningful where `stamp[v] == epoch`.
+         */
+        final int[] parent;
+
+        /**
+         * The epoch in which each vertex was last reached. Bumping `epoch` invalidates every
+         * vertex at once, so the arrays never need to be cleared between searches.
+         */
+        final int[] stamp;
+
+        /**
+         * The current search's epoch.
+         */
+        int epoch;
+
+        /**
+         * The number of vertices removed from the frontier by the last search.
+         */
+        int settled;
+
+        Scratch(int n) {
+            frontier = new IntMinPQueue(n);
+            dist = new double[n];
+            parent = new int[n];
+            stamp = new int[n];
+            epoch = 0;
+        }
+
+        /**
+         * Prepare for a new search.
+         */
+        void reset() {
+            frontier.clear();
+            settled = 0;
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                epoch = 1;
+            }
+        }
+
+        /**
+         * Return the best known distance to `v`, or positive infinity if `v` has not been
+         * reached in this search.
+         */
+        double distance(int v) {
+            return stamp[v] == epoch ? dist[v] : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * The graph being searched.
+     */
+    private final CsrGraph graph;
+
+    /**
+     * Each thread's scratch state, sized for `graph`.
+     */
+    private final ThreadLocal<Scratch> scratch;
+
+    /**
+     * Create a query engine for `graph`.
+     */
+    public ShortestPaths(CsrGraph graph) {
+        this.graph = graph;
+        scratch = ThreadLocal.withInitial(() -> new Scratch(graph.vertexCount()));
+    }
+
+    /**
+     * Return the graph this engine searches.
+     */
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Return the length of a shortest path from `source` to `target`, or positive infinity if
+     * there is none. Runs Dijkstra's algorithm, stopping once `target` is settled. Requires both
+     * vertices are in the graph.
+     */
+    public double distance(int source, int target) {
+        return distance(source, target, NONE);
+    }
+
+    /**
+     * Return the length of a shortest path from `source` to `target`, or positive infinity if
+     * there is none, using A* guided by `heuristic`. Requires both vertices are in the graph and
+     * `heuristic` is admissible.
+     */
+    public double distance(int source, int target, Heuristic heuristic) {
+        Scratch s = search(source, target, heuristic);
+        return s.distance(target);
+    }
+
+    /**
+     * Return the vertices of a shortest path from `source` to `target`, starting with `source`
+     * and ending with `target`, or an empty array if there is none. Uses A* guided by
+     * `heuristic`. Requires both vertices are in the graph and `heuristic` is admissible.
+     */
+    public int[] path(int source, int target, Heuristic heuristic) {
+        Scratch s = search(source, target, heuristic);
+        if (s.distance(target) == Double.POSITIVE_INFINITY) {
+            return new int[0];
+        }
+        int length = 1;
+        for (int v = target; v != source; v = s.parent[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = target, i = length - 1; i >= 0; v = s.parent[v], i--) {
+            path[i] = v;
+        }
+        return path;
+    }
+
+    /**
+     * Return the length of a shortest path from `source` to every vertex, indexed by vertex, with
+     * positive infinity for unreachable vertices. Requires `source` is in the graph.
+     */
+    public double[] distancesFrom(int source) {
+        Scratch s = search(source, -1, NONE);
+        double[] result = new double[graph.vertexCount()];
+        for (int v = 0; v < result.length; v++) {
+            result[v] = s.distance(v);
+        }
+        return result;
+    }
+
+    /**
+     * Return the number of vertices removed from the frontier by the calling thread's last query.
+     * This is a machine-independent measure of how much work a query did.
+     */
+    public int lastSettledCount() {
+        return scratch.get().settled;
+    }
+
+    /**
+     * Run A* from `source` guided by `heuristic`, stopping once `target` is settled, or searching
+     * the whole reachable graph if `target` is -1. Returns the calling thread's scratch state,
+     * holding the search's results.
+     */
+    private Scratch search(int source, int target, Heuristic heuristic) {
+        Scratch s = scratch.get();
+        s.reset();
+        IntMinPQueue frontier = s.frontier;
+        double[] dist = s.dist;
+        int[] stamp = s.stamp;
+        int epoch = s.epoch;
+
+        dist[source] = 0;
+        s.parent[source] = -1;
+        stamp[source] = epoch;
+        frontier.addOrUpdate(source, target < 0 ? 0 : heuristic.estimate(source, target));
+        while (!frontier.isEmpty()) {
+            int u = frontier.removeInt();
+            s.settled++;
+            if (u == target) {
+                break;
+            }
+            double du = dist[u];
+            for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                double dv = du + graph.weight(e);
+                if (stamp[v] != epoch || dv < dist[v]) {
+                    dist[v] = dv;
+                    s.parent[v] = u;
+                    stamp[v] = epoch;
+                    frontier.addOrUpdate(v, target < 0 ? dv : dv + heuristic.estimate(v, target));
+                }
+            }
+        }
+        return s;
+    }
+}
@@ -0,0 +1,274 @@
+package cs2110;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel that schedules items of type `T` to expire at given deadlines.
+ * Scheduling, rescheduling, and cancelling a timer all run in O(1) time; advancing the wheel runs
+ * in time proportional to the number of elapsed ticks plus the number of timers that expire or
+ * cascade. Time is measured in the (arbitrary) units of the deadlines passed in, and is divided
+ * into ticks of length `tickDuration`.
+ */
+class TimingWheel<T> {
+
+    /**
+     * A timer scheduled on a wheel. Timers in the same slot form a doubly-linked list, so a timer
+     * can be unlinked in O(1) time given only a reference to it.
+     */
+    static final class Timer<T> {
+
+        /**
+         * The item that expires when this timer fires.
+         */
+        final T item;
+
+        /**
+         * The deadline of this timer, in units of time.
+         */
+        private long deadline;
+
+        /**
+         * The tick in which this timer fires. Satisfies `tick * tickDuration >= deadline`, so a
+         * timer never fires before its deadline.
+         */
+        private long tick;
+
+        /**
+         * The neighbors of this timer in its slot's list, or null at either end of the list.
+         */
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        /**
+         * The slot list this timer is linked into, or null if it is not scheduled.
+         */
+        private Slot<T> slot;
+
+        private Timer(T item) {
+            this.item = item;
+        }
+
+        /**
+         * Return the deadline of this timer.
+         */
+        long deadline() {
+            return deadline;
+        }
+
+        /**
+         * Return whether this timer is currently scheduled on a wheel.
+         */
+        boolean isScheduled() {
+            return slot != null;
+        }
+    }
+
+    /**
+     * The head of a doubly-linked list of timers.
+     */
+    private static final class Slot<T> {
+
+        Timer<T> head;
+    }
+
+    /**
+     * The base-2 logarithm of the number of slots in each level of the wheel.
+     */
+    private static final int SLOT_BITS = 6;
+
+    /**
+     * The number of slots in each level of the wheel.
+     */
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    /**
+     * The number of levels in the wheel. Level `l` holds timers firing between `SLOTS^l` and
+     * `SLOTS^(l+1)` ticks from now; timers further out than the top level can hold are parked in
+     * its furthest slot and rescheduled when that slot cascades.
+     */
+    private static final int LEVELS = 6;
+
+    /**
+     * The length of one tick, in units of time. Must be positive.
+     */
+    private final long tickDuration;
+
+    /**
+     * The slot lists of each level; `wheel[l][s]` holds the timers in slot `s` of level `l`.
+     */
+    private final Slot<T>[][] wheel;
+
+    /**
+     * The last tick that has been processed. All timers with `tick <= currentTick` have fired.
+     */
+    private long currentTick;
+
+    /**
+     * The number of timers currently scheduled on this wheel.
+     */
+    private int size;
+
+    /**
+     * Create an empty wheel with ticks of length `tickDuration`, whose clock starts at time `now`.
+     * Requires `tickDuration > 0`.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimingWheel(long tickDuration, long now) {
+        assert tickDuration > 0;
+        this.tickDuration = tickDuration;
+        wheel = new Slot[LEVELS][SLOTS];
+        for (Slot<T>[] level : wheel) {
+            for (int s = 0; s < SLOTS; s++) {
+                level[s] = new Slot<>();
+            }
+        }
+        currentTick = Math.floorDiv(now, tickDuration);
+        size = 0;
+    }
+
+    /**
+     * Return the number of timers currently scheduled on this wheel.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Return a new timer for `item`, scheduled to fire at `deadline`. Runs in O(1) time.
+     */
+    Timer<T> schedule(T item, long deadline) {
+        Timer<T> timer = new Timer<>(item);
+        timer.deadline = deadline;
+        timer.tick = Math.ceilDiv(deadline, tickDuration);
+        insert(timer, currentTick + 1);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Move `timer` so that it fires at `deadline` instead. If `timer` is not scheduled (because it
+     * fired or was cancelled), it is scheduled again. Runs in O(1) time.
+     */
+    void reschedule(Timer<T> timer, long deadline) {
+        if (timer.isScheduled()) {
+            unlink(timer);
+        } else {
+            size++;
+        }
+        timer.deadline = deadline;
+        timer.tick = Math.ceilDiv(deadline, tickDuration);
+        insert(timer, currentTick + 1);
+    }
+
+    /**
+     * Remove `timer` from this wheel so that it never fires. Has no effect if `timer` is not
+     * scheduled. Runs in O(1) time.
+     */
+    void cancel(Timer<T> timer) {
+        if (timer.isScheduled()) {
+            unlink(timer);
+            size--;
+        }
+    }
+
+    /**
+     * Advance this wheel's clock to time `now`, passing the item of every timer whose tick has
+     * elapsed to `onExpire`. Timers fire in tick order. If the wheel is empty, the clock jumps
+     * straight to `now`. Has no effect if `now` is not after the current tick.
+     */
+    void advance(long now, Consumer<? super T> onExpire) {
+        long targetTick = Math.floorDiv(now, tickDuration);
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                return;
+            }
+            currentTick++;
+            // Cascade higher levels whose slot boundary was just crossed, top-down so that timers
+            // can fall through several levels in one tick.
+            for (int l = LEVELS - 1; l > 0; l--) {
+                if ((currentTick & ((1L << (SLOT_BITS * l)) - 1)) == 0) {
+                    cascade(wheel[l][slotIndex(currentTick, l)]);
+                }
+            }
+            Slot<T> due = wheel[0][slotIndex(currentTick, 0)];
+            while (due.head != null) {
+                Timer<T> timer = due.head;
+                unlink(timer);
+                size--;
+                onExpire.accept(timer.item);
+            }
+        }
+    }
+
+    /**
+     * Reinsert every timer in `slot` relative to the current tick. Timers due in the current tick
+     * go into its level-0 slot, which `advance()` drains after cascading.
+     */
+    private void cascade(Slot<T> slot) {
+        Timer<T> timer = slot.head;
+        slot.head = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            timer.slot = null;
+            insert(timer, currentTick);
+            timer = next;
+        }
+    }
+
+    /**
+     * Link `timer` into the slot of the lowest level whose range covers `timer.tick`. Timers whose
+     * tick is before `earliestTick` are placed in its slot instead. Requires `timer` is not
+     * scheduled and `earliestTick` is `currentTick` or `currentTick + 1`.
+     */
+    private void insert(Timer<T> timer, long earliestTick) {
+        assert !timer.isScheduled();
+        assert earliestTick == currentTick || earliestTick == currentTick + 1;
+        long tick = Math.max(timer.tick, earliestTick);
+        int level = 0;
+        while (level < LEVELS - 1
+                && (tick >> (SLOT_BITS * level)) - (currentTick >> (SLOT_BITS * level)) >= SLOTS) {
+            level++;
+        }
+        int top = LEVELS - 1;
+        if (level == top && (tick >> (SLOT_BITS * top)) - (currentTick >> (SLOT_BITS * top))
+                >= SLOTS) {
+            // Beyond the wheel's horizon: park in the furthest top-level slot.
+            tick = ((currentTick >> (SLOT_BITS * top)) + SLOTS - 1) << (SLOT_BITS * top);
+        }
+        Slot<T> slot = wheel[level][slotIndex(tick, level)];
+        timer.slot = slot;
+        timer.next = slot.head;
+        if (slot.head != null) {
+            slot.head.prev = timer;
+        }
+        slot.head = timer;
+    }
+
+    /**
+     * Unlink `timer` from its slot list. Requires `timer` is scheduled.
+     */
+    private void unlink(Timer<T> timer) {
+        assert timer.isScheduled();
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            timer.slot.head = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.slot = null;
+    }
+
+    /**
+     * Return the index of the slot in level `level` that covers tick `tick`.
+     */
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >> (SLOT_BITS * level)) & (SLOTS - 1));
+    }
+}
@@ -0,0 +1,134 @@
+package cs2110;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Selects the `k` items of type `T` with the smallest (extrinsic) double priorities from a stream
+ * of arbitrary length, while holding at most `k` items at a time. Offering an item runs in
+ * O(log k) time, and O(1) time if it is rejected. Unlike `MinPQueue`, items need not be distinct;
+ * every offer is treated as a separate item.
+ */
+public class TopKSelector<T> {
+
+    /**
+     * The maximum number of items retained.
+     */
+    private final int k;
+
+    /**
+     * The retained items, arranged as a binary max-heap on `priorities`. Only indices in
+     * `[0..size)` are used.
+     */
+    private final Object[] items;
+
+    /**
+     * The priority of each retained item. Satisfies `priorities[i] <= priorities[(i-1)/2]` for all
+     * `i` in `[1..size)`.
+     */
+    private final double[] priorities;
+
+    /**
+     * The number of items currently retained. Satisfies `0 <= size <= k`.
+     */
+    private int size;
+
+    /**
+     * Create a selector that retains the `k` items with the smallest priorities. Requires
+     * `k > 0`.
+     */
+    public TopKSelector(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.k = k;
+        items = new Object[k];
+        priorities = new double[k];
+        size = 0;
+    }
+
+    /**
+     * Return the number of items currently retained, which is at most `k`.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the largest priority among the retained items once `k` items have been retained, or
+     * positive infinity before then. Any item offered with a priority not less than this value
+     * will be rejected.
+     */
+    public double threshold() {
+        return size < k ? Double.POSITIVE_INFINITY : priorities[0];
+    }
+
+    /**
+     * Offer `item` with priority `priority`. If fewer than `k` items are retained, or `priority`
+     * is less than the largest retained priority, `item` is retained (evicting the item with the
+     * largest priority if necessary) and this method returns true. Otherwise returns false.
+     */
+    public boolean offer(T item, double priority) {
+        if (size < k) {
+            int i = size++;
+            while (i > 0 && priorities[(i - 1) / 2] < priority) {
+                int p = (i - 1) / 2;
+                items[i] = items[p];
+                priorities[i] = priorities[p];
+                i = p;
+            }
+            items[i] = item;
+            priorities[i] = priority;
+            return true;
+        }
+        if (priority >= priorities[0]) {
+            return false;
+        }
+        // Replace the root and sift the hole down.
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && priorities[child + 1] > priorities[child]) {
+                child++;
+            }
+            if (priorities[child] <= priority) {
+                break;
+            }
+            items[i] = items[child];
+            priorities[i] = priorities[child];
+            i = child;
+        }
+        items[i] = item;
+        priorities[i] = priority;
+        return true;
+    }
+
+    /**
+     * Return the retained items in order of increasing priority. Does not modify this selector.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toSortedList() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(priorities[a], priorities[b]));
+        List<T> result = new ArrayList<>(size);
+        for (int i : order) {
+            result.add((T) items[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Discard all retained items.
+     */
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+    }
+}
@@ -0,0 +1,79 @@
+package cs2110;
+
+import java.util.Random;
+
+/**
+ * Compares looking up batches of keys in a `ProbingPacMap` much larger than the last-level cache
+ * one at a time with `containsKey()`/`get()` against `getAll()`, which interleaves the probe
+ * sequences of the keys in a batch. Run with
+ * `java cs2110.BatchLookupBenchmark [entries] [batchSize] [batches]`.
+ */
+public class BatchLookupBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int batches = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        System.out.printf("%,d entries, %,d batches of %d keys (half present)%n", n, batches,
+                batchSize);
+
+        Random rng = new Random(42);
+        Integer[] keys = new Integer[n];
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = rng.nextInt();
+            values[i] = i;
+        }
+        ProbingPacMap<Integer, Integer> map = ProbingPacMap.bulkLoad(keys, values);
+
+        Integer[][] queries = new Integer[batches][batchSize];
+        for (Integer[] batch : queries) {
+            for (int j = 0; j < batchSize; j++) {
+                batch[j] = j % 2 == 0 ? keys[rng.nextInt(n)] : rng.nextInt();
+            }
+        }
+        Integer[] out = new Integer[batchSize];
+
+        // Warm up each method before timing it.
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            long start = System.nanoTime();
+            long found = 0;
+            for (Integer[] batch : queries) {
+                for (Integer key : batch) {
+                    if (map.containsKey(key)) {
+                        map.get(key);
+                        found++;
+                    }
+                }
+            }
+            report(report, "containsKey()+get()", start, batches * batchSize, found);
+
+            start = System.nanoTime();
+            found = 0;
+            for (Integer[] batch : queries) {
+                for (Integer key : batch) {
+                    if (map.containsKey(key)) {
+                        found++;
+                    }
+                }
+            }
+            report(report, "containsKey() only", start, batches * batchSize, found);
+
+            start = System.nanoTime();
+            found = 0;
+            for (Integer[] batch : queries) {
+                found += map.getAll(batch, out);
+            }
+            report(report, "getAll()", start, batches * batchSize, found);
+        }
+    }
+
+    private static void report(boolean report, String method, long start, long lookups,
+            long found) {
+        if (report) {
+            System.out.printf("  %-22s %7.1f ns/key  (%,d found)%n", method,
+                    (double) (System.nanoTime() - start) / lookups, found);
+        }
+    }
+}
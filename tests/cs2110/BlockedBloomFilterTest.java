@@ -0,0 +1,56 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `BlockedBloomFilter`.
+ */
+class BlockedBloomFilterTest {
+
+    @DisplayName("WHEN hashes are added, THEN the filter reports that it might contain each of "
+            + "them.")
+    @Test
+    void testNoFalseNegatives() {
+        BlockedBloomFilter filter = new BlockedBloomFilter(10_000, 10);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(BlockedBloomFilter.mix(i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(BlockedBloomFilter.mix(i)));
+        }
+    }
+
+    @DisplayName("WHEN a filter holds as many hashes as it was sized for, THEN its false-positive "
+            + "rate is about 1% at 10 bits per hash.")
+    @Test
+    void testFalsePositiveRate() {
+        int n = 100_000;
+        BlockedBloomFilter filter = new BlockedBloomFilter(n, 10);
+        Random rng = new Random(40);
+        for (int i = 0; i < n; i++) {
+            filter.add(BlockedBloomFilter.mix(rng.nextInt()));
+        }
+        int positives = 0;
+        for (int i = 0; i < n; i++) {
+            if (filter.mightContain(BlockedBloomFilter.mix(n + i))) {
+                positives++;
+            }
+        }
+        assertTrue(positives < 0.02 * n, "false positives: " + positives);
+        assertTrue(filter.bitCount() >= 10L * n);
+    }
+
+    @DisplayName("WHEN a filter is cleared, THEN it reports nothing as possibly contained.")
+    @Test
+    void testClear() {
+        BlockedBloomFilter filter = new BlockedBloomFilter(0, 10);
+        filter.add(BlockedBloomFilter.mix(42));
+        assertTrue(filter.mightContain(BlockedBloomFilter.mix(42)));
+        filter.clear();
+        assertFalse(filter.mightContain(BlockedBloomFilter.mix(42)));
+    }
+}
@@ -0,0 +1,62 @@
+package cs2110;
+
+import java.util.Random;
+
+/**
+ * Compares immediate and buffered `MinPQueue` updates on storms of priority changes. Each round
+ * changes the priorities of `batch` random elements of a heap of `size` elements (with repeats),
+ * then removes the minimum and re-adds it, so that every round forces buffered changes to be
+ * applied. Reports time and heap swaps per update for batches from small to larger than the
+ * heap. Run with `java cs2110.BufferedUpdateBenchmark [size] [updates]`.
+ */
+public class BufferedUpdateBenchmark {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int updates = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        System.out.printf("heap of %,d elements, %,d updates per run%n", size, updates);
+
+        // Scatter the keys: sequential `Integer`s hash to one long run of the queue's index, in
+        // which every miss probes to the end of the run.
+        Integer[] keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i * 0x9E3779B9;
+        }
+        for (int batch : new int[]{16, 1_000, 10_000, 100_000, 400_000}) {
+            System.out.printf("batch %,d%n", batch);
+            // Warm up each mode before timing it.
+            for (int round = 0; round < 2; round++) {
+                run(round == 1, "immediate", false, keys, batch, updates);
+                run(round == 1, "buffered", true, keys, batch, updates);
+            }
+        }
+    }
+
+    private static void run(boolean report, String name, boolean buffered, Integer[] keys,
+            int batch, int updates) {
+        MinPQueue<Integer> pq = new MinPQueue<>();
+        for (int i = 0; i < keys.length; i++) {
+            pq.addOrUpdate(keys[i], i);
+        }
+        pq.setBuffered(buffered);
+        Random rng = new Random(44);
+        long swapsBefore = pq.swapCount;
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int done = 0; done < updates; done += batch) {
+            for (int j = 0; j < batch; j++) {
+                pq.addOrUpdate(keys[rng.nextInt(keys.length)], rng.nextDouble() * keys.length);
+            }
+            Integer min = pq.remove();
+            checksum += min;
+            pq.addOrUpdate(min, keys.length);
+        }
+        pq.setBuffered(false);
+        double ms = (System.nanoTime() - start) / 1e6;
+        if (report) {
+            System.out.printf("  %-10s %9.1f ms  %6.1f M updates/s  %6.2f swaps/update  "
+                            + "(checksum %d)%n", name, ms, updates / ms / 1e3,
+                    (double) (pq.swapCount - swapsBefore) / updates, checksum);
+        }
+    }
+}
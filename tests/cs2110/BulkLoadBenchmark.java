@@ -0,0 +1,57 @@
+package cs2110;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares building a `ProbingPacMap` by sequential `put()` calls with `ProbingPacMap.bulkLoad()`
+ * on fork-join pools of increasing parallelism. Run with
+ * `java cs2110.BulkLoadBenchmark [entries] [maxThreads]`; the default thread counts go up to the
+ * number of available processors.
+ */
+public class BulkLoadBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+                : Math.max(4, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%,d entries, %d available processors%n", n,
+                Runtime.getRuntime().availableProcessors());
+
+        Integer[] keys = new Integer[n];
+        Integer[] values = new Integer[n];
+        Random rng = new Random(38);
+        for (int i = 0; i < n; i++) {
+            keys[i] = rng.nextInt();
+            values[i] = i;
+        }
+
+        // Warm up each method before timing it.
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            long start = System.nanoTime();
+            ProbingPacMap<Integer, Integer> map = new ProbingPacMap<>();
+            for (int i = 0; i < n; i++) {
+                map.put(keys[i], values[i]);
+            }
+            report(report, "sequential put()", start, n, map.size());
+
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                start = System.nanoTime();
+                map = ProbingPacMap.bulkLoad(keys, values, pool);
+                report(report, "bulkLoad(), " + threads + " thread(s)", start, n, map.size());
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static void report(boolean report, String method, long start, int n, int size) {
+        if (!report) {
+            return;
+        }
+        double ms = (System.nanoTime() - start) / 1e6;
+        System.out.printf("  %-24s %9.1f ms  %7.1f ns/entry  (size %,d)%n", method, ms,
+                ms * 1e6 / n, size);
+    }
+}
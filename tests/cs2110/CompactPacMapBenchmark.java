@@ -0,0 +1,80 @@
+package cs2110;
+
+import java.util.function.Supplier;
+
+/**
+ * Compares `CompactPacMap` with `ProbingPacMap`: retained heap size, key iteration on a full map
+ * and on a map from which most keys were removed, and `get()` of present keys. Run with
+ * `java cs2110.CompactPacMapBenchmark [entries]`.
+ */
+public class CompactPacMapBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = i * 7919;
+        }
+        System.out.printf("%,d Integer keys%n", n);
+        // Warm up each map before timing it.
+        for (int round = 0; round < 2; round++) {
+            run(round == 1, "ProbingPacMap", ProbingPacMap::new, keys);
+            run(round == 1, "CompactPacMap", CompactPacMap::new, keys);
+        }
+    }
+
+    private static void run(boolean report, String name,
+            Supplier<PacMap<Integer, Integer>> factory, Integer[] keys) {
+        long before = usedMemory();
+        PacMap<Integer, Integer> map = factory.get();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        // Keys and values are shared with `keys`, so this is the map's own footprint.
+        long bytes = usedMemory() - before;
+
+        double fullIteration = iterationNanos(map);
+        long start = System.nanoTime();
+        long sum = 0;
+        for (Integer key : keys) {
+            sum += map.get(key);
+        }
+        double getNanos = (double) (System.nanoTime() - start) / keys.length;
+
+        for (int i = 0; i < keys.length; i++) {
+            if (i % 10 != 0) {
+                map.remove(keys[i]);
+            }
+        }
+        double sparseIteration = iterationNanos(map);
+
+        if (report) {
+            System.out.printf("  %-14s %6.1f MB  iterate full %6.1f ms, after removing 90%% "
+                            + "%6.1f ms  get %5.1f ns  (checksum %d)%n", name, bytes / 1e6,
+                    fullIteration / 1e6, sparseIteration / 1e6, getNanos, sum);
+        }
+    }
+
+    /**
+     * Return the time taken to iterate over every key of `map`.
+     */
+    private static double iterationNanos(PacMap<Integer, Integer> map) {
+        long start = System.nanoTime();
+        long count = 0;
+        for (Integer key : map) {
+            count += key;
+        }
+        if (count == 42) {
+            System.out.print("");
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long usedMemory() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,141 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `CompactPacMap`.
+ */
+class CompactPacMapTest {
+
+    /**
+     * Return the keys of `map` in iteration order.
+     */
+    private static <K> List<K> keysOf(PacMap<K, ?> map) {
+        List<K> keys = new ArrayList<>();
+        for (K key : map) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    @DisplayName("WHEN entries are put, read, overwritten, and removed, THEN the map reports the "
+            + "expected associations and size.")
+    @Test
+    void testMapOperations() {
+        CompactPacMap<String, Integer> map = new CompactPacMap<>();
+        assertEquals(0, map.size());
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("a", 3);
+        assertEquals(2, map.size());
+        assertEquals(3, map.get("a"));
+        assertTrue(map.containsKey("b"));
+        assertFalse(map.containsKey("c"));
+        assertThrows(NoSuchElementException.class, () -> map.get("c"));
+        assertEquals(2, map.remove("b"));
+        assertFalse(map.containsKey("b"));
+        assertThrows(NoSuchElementException.class, () -> map.remove("b"));
+        assertEquals(1, map.size());
+    }
+
+    @DisplayName("WHEN keys are put, overwritten, removed, and put again, THEN iteration follows "
+            + "insertion order, overwriting keeps a key's place, and re-adding moves it last.")
+    @Test
+    void testInsertionOrder() {
+        CompactPacMap<String, Integer> map = new CompactPacMap<>();
+        for (String key : List.of("d", "a", "c", "b")) {
+            map.put(key, 0);
+        }
+        map.put("a", 1);
+        assertEquals(List.of("d", "a", "c", "b"), keysOf(map));
+        map.remove("c");
+        map.put("c", 2);
+        map.remove("d");
+        assertEquals(List.of("a", "b", "c"), keysOf(map));
+    }
+
+    @DisplayName("WHEN many entries are added and most are removed, THEN the rest are found and "
+            + "iterated in order, and the index switches between `short` and `int` slots as the "
+            + "map grows and shrinks.")
+    @Test
+    void testGrowAndShrink() {
+        CompactPacMap<Integer, Integer> map = new CompactPacMap<>();
+        assertTrue(map.hasShortIndex());
+        int n = 100_000;
+        for (int i = 0; i < n; i++) {
+            map.put(i, -i);
+        }
+        assertFalse(map.hasShortIndex());
+        for (int i = 0; i < n; i++) {
+            assertEquals(-i, map.get(i));
+        }
+        for (int i = 0; i < n; i++) {
+            if (i % 100 != 0) {
+                map.remove(i);
+            }
+        }
+        assertEquals(n / 100, map.size());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < n; i += 100) {
+            expected.add(i);
+        }
+        assertEquals(expected, keysOf(map));
+
+        // Further churn rebuilds the arrays at a size fitting the live entries.
+        for (int i = n; i < 3 * n; i++) {
+            map.put(i, i);
+            map.remove(i);
+        }
+        assertTrue(map.hasShortIndex());
+        assertTrue(map.indexLength() <= 4096);
+        assertEquals(expected, keysOf(map));
+    }
+
+    /**
+     * A key whose hash code depends only on its length.
+     */
+    record BadHash(String str) {
+
+        @Override
+        public int hashCode() {
+            return str.length();
+        }
+    }
+
+    @DisplayName("WHEN keys with colliding hash codes are put and removed, THEN each is still "
+            + "found by its own key.")
+    @Test
+    void testCollisions() {
+        CompactPacMap<BadHash, Integer> map = new CompactPacMap<>();
+        for (int i = 0; i < 200; i++) {
+            map.put(new BadHash("k" + i), i);
+        }
+        for (int i = 0; i < 200; i += 2) {
+            assertEquals(i, map.remove(new BadHash("k" + i)));
+        }
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 2 == 1, map.containsKey(new BadHash("k" + i)));
+        }
+        map.put(new BadHash("k0"), -1);
+        assertEquals(-1, map.get(new BadHash("k0")));
+        assertEquals(101, map.size());
+    }
+
+    @DisplayName("WHEN an iterator is exhausted, THEN `next()` throws a "
+            + "`NoSuchElementException`.")
+    @Test
+    void testIteratorExhausted() {
+        CompactPacMap<String, Integer> map = new CompactPacMap<>();
+        map.put("a", 1);
+        var it = map.iterator();
+        assertEquals("a", it.next());
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+}
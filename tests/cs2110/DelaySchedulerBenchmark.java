@@ -0,0 +1,158 @@
+package cs2110;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compares `DelayScheduler` with `java.util.concurrent.DelayQueue` as the queue of a job scheduler
+ * whose producers and consumers are virtual threads. The producers schedule jobs at a steady rate
+ * over `maxDelayMillis`, each with a random delay of up to `maxDelayMillis`; consumers take jobs
+ * as they fall due. Reports throughput and the lateness of each job
+ * (the time between its deadline and its `take()` returning). Run with
+ * `java cs2110.DelaySchedulerBenchmark [consumers] [jobs] [maxDelayMillis]`.
+ */
+public class DelaySchedulerBenchmark {
+
+    /**
+     * The number of producer threads.
+     */
+    private static final int PRODUCERS = 8;
+
+    /**
+     * The number of jobs a producer schedules between pauses.
+     */
+    private static final int BATCH = 50;
+
+    /**
+     * A job with an id and deadline, in the form `DelayQueue` requires.
+     */
+    private record Job(int id, long deadline) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadline, ((Job) other).deadline);
+        }
+    }
+
+    /**
+     * The operations the benchmark needs from a queue under test.
+     */
+    private interface Queue {
+
+        void add(int id, long deadline);
+
+        int take() throws InterruptedException;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int consumers = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int jobs = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int maxDelayMillis = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        System.out.printf("%,d virtual consumers, %d producers, %,d jobs, delays up to %d ms%n",
+                consumers, PRODUCERS, jobs, maxDelayMillis);
+
+        // Warm up each queue before timing it.
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            DelayScheduler<Integer> scheduler = new DelayScheduler<>();
+            run(report, "DelayScheduler", new Queue() {
+                public void add(int id, long deadline) {
+                    scheduler.addOrUpdate(id, deadline);
+                }
+
+                public int take() throws InterruptedException {
+                    return scheduler.take();
+                }
+            }, consumers, jobs, maxDelayMillis);
+
+            DelayQueue<Job> delayQueue = new DelayQueue<>();
+            run(report, "DelayQueue", new Queue() {
+                public void add(int id, long deadline) {
+                    delayQueue.add(new Job(id, deadline));
+                }
+
+                public int take() throws InterruptedException {
+                    return delayQueue.take().id();
+                }
+            }, consumers, jobs, maxDelayMillis);
+        }
+    }
+
+    /**
+     * Schedule `jobs` jobs on `queue` from the producer threads, consume them on `consumers`
+     * virtual threads, and report the results if `report`.
+     */
+    private static void run(boolean report, String name, Queue queue, int consumers, int jobs,
+            int maxDelayMillis) throws InterruptedException {
+        long[] deadlines = new long[jobs];
+        long[] lateness = new long[jobs];
+        long start = System.nanoTime();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < consumers; c++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    while (true) {
+                        int id = queue.take();
+                        if (id >= jobs) {
+                            return;
+                        }
+                        lateness[id] = System.nanoTime() - deadlines[id];
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int first = p;
+            producers.add(Thread.ofVirtual().start(() -> {
+                Random rng = new Random(first);
+                long pause = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis) * BATCH * PRODUCERS
+                        / jobs;
+                for (int id = first; id < jobs; id += PRODUCERS) {
+                    if ((id / PRODUCERS) % BATCH == BATCH - 1) {
+                        LockSupport.parkNanos(pause);
+                    }
+                    long deadline = System.nanoTime()
+                            + TimeUnit.MICROSECONDS.toNanos(rng.nextInt(maxDelayMillis * 1000));
+                    deadlines[id] = deadline;
+                    queue.add(id, deadline);
+                }
+            }));
+        }
+        for (Thread t : producers) {
+            t.join();
+        }
+        // One poison job per consumer, due after every real job. Poison ids follow the real ones
+        // rather than being negative, which would hash onto the slots of long-removed jobs.
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        for (int c = 0; c < consumers; c++) {
+            queue.add(jobs + c, end);
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        if (!report) {
+            return;
+        }
+        Arrays.sort(lateness);
+        System.out.printf("  %-15s %,12.0f jobs/s   lateness p50 %7.1f us  p99 %8.1f us  "
+                        + "max %9.1f us%n", name, jobs / seconds, lateness[jobs / 2] / 1e3,
+                lateness[(int) (jobs * 0.99)] / 1e3, lateness[jobs - 1] / 1e3);
+    }
+}
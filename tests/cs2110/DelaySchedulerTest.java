@@ -0,0 +1,190 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `DelayScheduler`.
+ */
+class DelaySchedulerTest {
+
+    @DisplayName("WHEN jobs are due, THEN `take()` returns them in deadline order.")
+    @Test
+    void testTakeInDeadlineOrder() throws InterruptedException {
+        DelayScheduler<String> s = new DelayScheduler<>();
+        long now = System.nanoTime();
+        s.addOrUpdate("c", now - 1);
+        s.addOrUpdate("a", now - 3);
+        s.addOrUpdate("b", now - 2);
+        assertEquals(3, s.size());
+        assertEquals("a", s.take());
+        assertEquals("b", s.take());
+        assertEquals("c", s.take());
+        assertEquals(0, s.size());
+    }
+
+    @DisplayName("WHEN the earliest job is not yet due, THEN `take()` blocks until its deadline.")
+    @Test
+    void testTakeWaitsForDeadline() throws InterruptedException {
+        DelayScheduler<String> s = new DelayScheduler<>();
+        long start = System.nanoTime();
+        s.schedule("a", 50, TimeUnit.MILLISECONDS);
+        assertEquals("a", s.take());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @DisplayName("WHEN a consumer waits for a distant deadline and an earlier job is added, THEN "
+            + "the consumer wakes for the earlier job.")
+    @Test
+    void testEarlierJobWakesConsumer() throws InterruptedException {
+        DelayScheduler<String> s = new DelayScheduler<>();
+        s.schedule("late", 10, TimeUnit.SECONDS);
+        List<String> taken = new ArrayList<>();
+        Thread consumer = Thread.ofVirtual().start(() -> {
+            try {
+                taken.add(s.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread.sleep(50);
+        long start = System.nanoTime();
+        s.schedule("early", 20, TimeUnit.MILLISECONDS);
+        consumer.join(5_000);
+        assertFalse(consumer.isAlive());
+        assertEquals(List.of("early"), taken);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(s.contains("late"));
+    }
+
+    @DisplayName("WHEN a job is rescheduled with `addOrUpdate()`, THEN it is taken at its new "
+            + "deadline.")
+    @Test
+    void testReschedule() throws InterruptedException {
+        DelayScheduler<String> s = new DelayScheduler<>();
+        long now = System.nanoTime();
+        s.addOrUpdate("a", now - 2);
+        s.addOrUpdate("b", now - 1);
+        s.addOrUpdate("a", now + TimeUnit.SECONDS.toNanos(10));
+        assertEquals(2, s.size());
+        assertEquals(now + TimeUnit.SECONDS.toNanos(10), s.deadlineOf("a"));
+        assertEquals("b", s.take());
+        assertNull(s.poll());
+    }
+
+    @DisplayName("WHEN nothing is due, THEN `poll()` returns null, and timed `poll()` returns null "
+            + "after its timeout.")
+    @Test
+    void testPoll() throws InterruptedException {
+        DelayScheduler<String> s = new DelayScheduler<>();
+        assertNull(s.poll());
+        assertNull(s.poll(10, TimeUnit.MILLISECONDS));
+        s.schedule("a", 10, TimeUnit.SECONDS);
+        assertNull(s.poll());
+        assertNull(s.poll(10, TimeUnit.MILLISECONDS));
+        s.schedule("b", 10, TimeUnit.MILLISECONDS);
+        assertEquals("b", s.poll(5, TimeUnit.SECONDS));
+    }
+
+    @DisplayName("WHEN a job is scheduled with a delay too long to represent, THEN it is not due "
+            + "and jobs with shorter delays come first.")
+    @Test
+    void testHugeDelay() throws InterruptedException {
+        DelayScheduler<String> s = new DelayScheduler<>();
+        s.schedule("nanos", Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        s.schedule("days", Long.MAX_VALUE, TimeUnit.DAYS);
+        assertNull(s.poll());
+        assertTrue(s.deadlineOf("nanos") - System.nanoTime() > TimeUnit.DAYS.toNanos(100));
+        assertTrue(s.deadlineOf("days") - System.nanoTime() > TimeUnit.DAYS.toNanos(100));
+
+        s.schedule("soon", 1, TimeUnit.MILLISECONDS);
+        assertEquals("soon", s.take());
+        assertNull(s.poll());
+        assertEquals(2, s.size());
+    }
+
+    @DisplayName("WHEN the scheduler has been running for longer than the longest delay, THEN "
+            + "new jobs still become due after their delays rather than immediately.")
+    @Test
+    void testLongRunningScheduler() throws InterruptedException {
+        DelayScheduler<String> s =
+                new DelayScheduler<>(System.nanoTime() - TimeUnit.DAYS.toNanos(105));
+        s.schedule("job", 10, TimeUnit.SECONDS);
+        s.addOrUpdate("deadline", System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+        s.schedule("huge", Long.MAX_VALUE, TimeUnit.DAYS);
+        assertNull(s.poll());
+        long now = System.nanoTime();
+        assertTrue(s.deadlineOf("job") - now > TimeUnit.SECONDS.toNanos(9));
+        assertTrue(s.deadlineOf("deadline") - now > TimeUnit.SECONDS.toNanos(9));
+        assertTrue(s.deadlineOf("huge") - now > TimeUnit.DAYS.toNanos(100));
+
+        s.schedule("soon", 1, TimeUnit.MILLISECONDS);
+        assertEquals("soon", s.take());
+        s.addOrUpdate("past", now - TimeUnit.DAYS.toNanos(200));
+        assertEquals("past", s.poll());
+        assertNull(s.poll());
+    }
+
+    @DisplayName("WHEN a job is cancelled, THEN it is never taken.")
+    @Test
+    void testCancel() throws InterruptedException {
+        DelayScheduler<String> s = new DelayScheduler<>();
+        long now = System.nanoTime();
+        s.addOrUpdate("a", now - 2);
+        s.addOrUpdate("b", now - 1);
+        assertTrue(s.cancel("a"));
+        assertFalse(s.cancel("a"));
+        assertFalse(s.contains("a"));
+        assertThrows(NoSuchElementException.class, () -> s.deadlineOf("a"));
+        assertEquals("b", s.take());
+    }
+
+    @DisplayName("WHEN many virtual-thread consumers take from one scheduler, THEN every job is "
+            + "taken exactly once, no earlier than its deadline.")
+    @Test
+    void testManyVirtualConsumers() throws InterruptedException {
+        DelayScheduler<Integer> s = new DelayScheduler<>();
+        int consumers = 200;
+        int perConsumer = 10;
+        long[] deadlines = new long[consumers * perConsumer];
+        long start = System.nanoTime();
+        for (int j = 0; j < deadlines.length; j++) {
+            deadlines[j] = start + TimeUnit.MILLISECONDS.toNanos(j % 50);
+        }
+        Set<Integer> taken = ConcurrentHashMap.newKeySet();
+        Set<Integer> early = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < consumers; c++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    for (int i = 0; i < perConsumer; i++) {
+                        int job = s.take();
+                        if (System.nanoTime() < deadlines[job] || !taken.add(job)) {
+                            early.add(job);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (int j = 0; j < deadlines.length; j++) {
+            s.addOrUpdate(j, deadlines[j]);
+        }
+        for (Thread t : threads) {
+            t.join(10_000);
+            assertFalse(t.isAlive());
+        }
+        assertEquals(consumers * perConsumer, taken.size());
+        assertEquals(new HashSet<>(), early);
+    }
+}
@@ -0,0 +1,57 @@
+package cs2110;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the speed-up of `DeltaStepping` over the sequential `ShortestPaths` Dijkstra across
+ * pool sizes from 1 to the number of available processors, on synthetic grid and road-like
+ * graphs, checking every result against Dijkstra. Run with
+ * `java cs2110.DeltaSteppingBenchmark [side] [repetitions]`.
+ */
+public class DeltaSteppingBenchmark {
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int reps = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        run("grid", SyntheticGraphs.grid(side, side, 1).graph(), reps);
+        run("road", SyntheticGraphs.roadNetwork(side * side, 2).graph(), reps);
+    }
+
+    private static void run(String name, CsrGraph graph, int reps) {
+        System.out.printf("%s: %,d vertices, %,d edges, delta %.3f%n", name,
+                graph.vertexCount(), graph.edgeCount(), DeltaStepping.chooseDelta(graph));
+        ShortestPaths sequential = new ShortestPaths(graph);
+        double[] expected = sequential.distancesFrom(0);
+        long start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            sequential.distancesFrom(0);
+        }
+        double baseline = (System.nanoTime() - start) / 1e6 / reps;
+        System.out.printf("  %-22s %9.1f ms%n", "sequential Dijkstra", baseline);
+
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                DeltaStepping ds = new DeltaStepping(graph, pool);
+                if (!Arrays.equals(expected, ds.distancesFrom(0))) {
+                    throw new AssertionError("delta-stepping disagrees with Dijkstra");
+                }
+                start = System.nanoTime();
+                for (int r = 0; r < reps; r++) {
+                    ds.distancesFrom(0);
+                }
+                double ms = (System.nanoTime() - start) / 1e6 / reps;
+                System.out.printf("  delta-stepping p=%-4d %9.1f ms  speed-up %.2fx%n", threads,
+                        ms, baseline / ms);
+            } finally {
+                pool.shutdown();
+            }
+            if (threads < maxThreads && threads * 2 > maxThreads) {
+                threads = maxThreads / 2;
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `DeltaStepping`.
+ */
+class DeltaSteppingTest {
+
+    @DisplayName("WHEN distances are computed on a grid with several pool sizes, THEN they match a "
+            + "sequential `MinPQueue` Dijkstra.")
+    @Test
+    void testGridMatchesDijkstra() {
+        CsrGraph g = SyntheticGraphs.grid(120, 100, 7).graph();
+        double[] expected = ShortestPathsTest.referenceDistances(g, 55);
+        for (int threads : new int[]{1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                assertArrayEquals(expected, new DeltaStepping(g, pool).distancesFrom(55), 1e-9);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @DisplayName("WHEN distances are computed on a road-like graph with several bucket widths, "
+            + "THEN they match a sequential `MinPQueue` Dijkstra.")
+    @Test
+    void testRoadNetworkMatchesDijkstra() {
+        CsrGraph g = SyntheticGraphs.roadNetwork(20_000, 8).graph();
+        double[] expected = ShortestPathsTest.referenceDistances(g, 0);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (double delta : new double[]{0.1, DeltaStepping.chooseDelta(g), 50}) {
+                assertArrayEquals(expected, new DeltaStepping(g, pool, delta).distancesFrom(0),
+                        1e-9);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @DisplayName("WHEN some vertices are unreachable or edges have zero weight, THEN distances are "
+            + "infinite and zero respectively.")
+    @Test
+    void testUnreachableAndZeroWeights() {
+        CsrGraph g = CsrGraph.fromEdges(4, new int[]{0, 1}, new int[]{1, 2},
+                new double[]{0, 0});
+        DeltaStepping ds = new DeltaStepping(g, ForkJoinPool.commonPool());
+        assertTrue(ds.delta() > 0);
+        assertArrayEquals(new double[]{0, 0, 0, Double.POSITIVE_INFINITY}, ds.distancesFrom(0));
+    }
+}
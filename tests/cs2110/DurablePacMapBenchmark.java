@@ -0,0 +1,71 @@
+package cs2110;
+
+import cs2110.DurablePacMap.Durability;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures `DurablePacMap` write throughput for each durability setting and number of writer
+ * threads, against a plain `ProbingPacMap`. Each writer puts random `Long` keys from a fixed
+ * universe, so the log is compacted in the background during longer runs. Reports operations per
+ * second and, where records are forced, how many operations shared each sync. Run with
+ * `java cs2110.DurablePacMapBenchmark [opsPerThread] [universe] [dir]`.
+ */
+public class DurablePacMapBenchmark {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int ops = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int universe = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        Path root = args.length > 2 ? Files.createDirectories(Path.of(args[2]))
+                : Files.createTempDirectory("walbench");
+        System.out.printf("%,d puts per thread over %,d keys in %s%n", ops, universe, root);
+
+        long start = System.nanoTime();
+        ProbingPacMap<Long, Long> plain = new ProbingPacMap<>();
+        Random rng = new Random(45);
+        for (int i = 0; i < ops * 16; i++) {
+            plain.put((long) rng.nextInt(universe), (long) i);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-8s %2d threads %,12.0f ops/s%n", "memory", 1, ops * 16 / seconds);
+
+        for (Durability durability : Durability.values()) {
+            // NONE never waits for the disk, so give it enough operations to time.
+            int perThread = durability == Durability.NONE ? ops * 100 : ops;
+            for (int threads : new int[]{1, 4, 16, 64}) {
+                Path dir = Files.createTempDirectory(root, durability.name());
+                run(dir, durability, threads, perThread, universe);
+            }
+        }
+    }
+
+    private static void run(Path dir, Durability durability, int threads, int perThread,
+            int universe) throws IOException, InterruptedException {
+        try (DurablePacMap<Long, Long> map = new DurablePacMap<>(dir, Codec.LONG,
+                Codec.LONG, durability)) {
+            List<Thread> writers = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                Random rng = new Random(t);
+                writers.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        map.put((long) rng.nextInt(universe), (long) i);
+                    }
+                }));
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long total = (long) threads * perThread;
+            long syncs = map.syncCount();
+            System.out.printf("%-8s %2d threads %,12.0f ops/s  %,9d syncs  %8.1f ops/sync%n",
+                    durability, threads, total / seconds, syncs,
+                    syncs == 0 ? 0.0 : (double) total / syncs);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cs2110.DurablePacMap.Durability;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `DurablePacMap`.
+ */
+class DurablePacMapTest {
+
+    private static DurablePacMap<String, Integer> open(Path dir, Durability durability)
+            throws IOException {
+        return new DurablePacMap<>(dir, Codec.STRING, Codec.INTEGER,
+                durability);
+    }
+
+    private static List<String> files(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(f -> f.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    @DisplayName("WHEN a map is closed and reopened, THEN it has the same entries, for every "
+            + "durability.")
+    @Test
+    void testReopen() throws IOException {
+        for (Durability durability : Durability.values()) {
+            Path dir = Files.createTempDirectory("wal");
+            try (DurablePacMap<String, Integer> map = open(dir, durability)) {
+                assertEquals(0, map.size());
+                map.put("A", 1);
+                map.put("B", 2);
+                map.put("C", 3);
+                map.put("A", 10);
+                assertEquals(2, map.remove("B"));
+                assertThrows(NoSuchElementException.class, () -> map.remove("B"));
+            }
+            try (DurablePacMap<String, Integer> map = open(dir, durability)) {
+                assertEquals(2, map.size());
+                assertEquals(10, map.get("A"));
+                assertEquals(3, map.get("C"));
+                assertFalse(map.containsKey("B"));
+            }
+        }
+    }
+
+    @DisplayName("WHEN a map with group commit is reopened without being closed, THEN every "
+            + "mutation that returned is recovered.")
+    @Test
+    void testRecoverWithoutClose() throws IOException {
+        Path dir = Files.createTempDirectory("wal");
+        DurablePacMap<String, Integer> crashed = open(dir, Durability.GROUP);
+        for (int i = 0; i < 100; i++) {
+            crashed.put("k" + i, i);
+        }
+        crashed.remove("k7");
+        try (DurablePacMap<String, Integer> map = open(dir, Durability.GROUP)) {
+            assertEquals(99, map.size());
+            assertEquals(42, map.get("k42"));
+            assertFalse(map.containsKey("k7"));
+        }
+    }
+
+    @DisplayName("WHEN the log ends with a torn record, THEN it is discarded on recovery and "
+            + "later records are recovered after the valid ones.")
+    @Test
+    void testTornTail() throws IOException {
+        Path dir = Files.createTempDirectory("wal");
+        try (DurablePacMap<String, Integer> map = open(dir, Durability.EACH)) {
+            map.put("A", 1);
+            map.put("B", 2);
+        }
+        Path log = dir.resolve(files(dir).getLast());
+        long validLength = Files.size(log);
+        try (FileChannel out = FileChannel.open(log, StandardOpenOption.APPEND)) {
+            // The start of a put record whose key and value were never written.
+            out.write(ByteBuffer.wrap(new byte[]{1, 0, 0, 0, 5, 0, 0, 0, 4, 'C'}));
+        }
+
+        try (DurablePacMap<String, Integer> map = open(dir, Durability.EACH)) {
+            assertEquals(2, map.size());
+            assertEquals(validLength, Files.size(log));
+            map.put("C", 3);
+        }
+        try (DurablePacMap<String, Integer> map = open(dir, Durability.EACH)) {
+            assertEquals(3, map.size());
+            assertEquals(3, map.get("C"));
+        }
+    }
+
+    @DisplayName("WHEN the log grows past the compaction threshold, THEN it is compacted into a "
+            + "checkpoint and older files are deleted without losing entries.")
+    @Test
+    void testCompaction() throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("wal");
+        try (DurablePacMap<String, Integer> map = new DurablePacMap<>(dir,
+                Codec.STRING, Codec.INTEGER, Durability.NONE, 100)) {
+            for (int i = 0; i < 10_000; i++) {
+                map.put("k" + (i % 20), i);
+            }
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (map.generation() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertTrue(map.generation() > 0);
+
+            map.compact();
+            long g = map.generation();
+            assertEquals(List.of("checkpoint-" + g, "log-" + g), files(dir));
+            map.put("extra", -1);
+        }
+        try (DurablePacMap<String, Integer> map = open(dir, Durability.NONE)) {
+            assertEquals(21, map.size());
+            assertEquals(9_999, map.get("k19"));
+            assertEquals(9_980, map.get("k0"));
+            assertEquals(-1, map.get("extra"));
+        }
+    }
+
+    @DisplayName("WHEN a crash interrupts a compaction before its checkpoint is complete, THEN "
+            + "recovery replays the older logs and ignores the partial checkpoint.")
+    @Test
+    void testInterruptedCompaction() throws IOException {
+        Path dir = Files.createTempDirectory("wal");
+        try (DurablePacMap<String, Integer> map = open(dir, Durability.EACH)) {
+            map.put("A", 1);
+            map.compact();
+            map.put("B", 2);
+        }
+        // Simulate a crash after switching to log 2 but while checkpoint 2 was being written.
+        Files.createFile(dir.resolve("log-2"));
+        Files.write(dir.resolve("checkpoint-2.tmp"), new byte[]{1, 2, 3});
+
+        try (DurablePacMap<String, Integer> map = open(dir, Durability.EACH)) {
+            assertEquals(2, map.size());
+            assertEquals(2, map.generation());
+            assertFalse(files(dir).contains("checkpoint-2.tmp"));
+            map.put("C", 3);
+        }
+        try (DurablePacMap<String, Integer> map = open(dir, Durability.EACH)) {
+            assertEquals(3, map.size());
+        }
+    }
+
+    @DisplayName("WHEN many threads write with group commit, THEN their records share syncs and "
+            + "all of them are recovered.")
+    @Test
+    void testGroupCommit() throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("wal");
+        int threads = 8;
+        int perThread = 200;
+        try (DurablePacMap<String, Integer> map = open(dir, Durability.GROUP)) {
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                writers.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        map.put(id + ":" + i, i);
+                    }
+                }));
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            assertTrue(map.syncCount() < threads * perThread);
+        }
+        try (DurablePacMap<String, Integer> map = open(dir, Durability.GROUP)) {
+            assertEquals(threads * perThread, map.size());
+            assertEquals(199, map.get("7:199"));
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `ExpiringPacMap`.
+ */
+class ExpiringPacMapTest {
+
+    /**
+     * A manually-advanced clock, so that expiration is deterministic.
+     */
+    static class FakeClock {
+
+        long now = 0;
+
+        long now() {
+            return now;
+        }
+    }
+
+    @DisplayName("WHEN an entry is put, THEN it is retrievable until its TTL elapses.")
+    @Test
+    void testExpiresAfterTtl() {
+        FakeClock clock = new FakeClock();
+        ExpiringPacMap<String, Integer> map = new ExpiringPacMap<>(100, 1, clock::now);
+        map.put("a", 1);
+
+        clock.now = 99;
+        assertTrue(map.containsKey("a"));
+        assertEquals(1, map.get("a"));
+        assertEquals(1, map.remainingTtl("a"));
+
+        clock.now = 100;
+        assertFalse(map.containsKey("a"));
+        assertThrows(NoSuchElementException.class, () -> map.get("a"));
+        assertEquals(0, map.size());
+    }
+
+    @DisplayName("WHEN an entry's deadline falls on a 64-tick cascade boundary, THEN it expires "
+            + "in that tick rather than the next.")
+    @Test
+    void testExpiresOnCascadeBoundary() {
+        FakeClock clock = new FakeClock();
+        ExpiringPacMap<String, Integer> map = new ExpiringPacMap<>(1000, 1, clock::now);
+        map.put("a", 1, 64);
+        clock.now = 63;
+        assertEquals(1, map.size());
+        clock.now = 64;
+        assertEquals(0, map.size());
+
+        clock.now = 0;
+        ExpiringPacMap<String, Integer> coarse = new ExpiringPacMap<>(1000, 10, clock::now);
+        coarse.put("b", 2, 635); // fires in tick 64, when level 1 cascades
+        clock.now = 639;
+        assertEquals(1, coarse.size());
+        clock.now = 640;
+        assertEquals(0, coarse.size());
+        assertFalse(coarse.containsKey("b"));
+    }
+
+    @DisplayName("WHEN entries have different TTLs, THEN each expires at its own deadline.")
+    @Test
+    void testPerEntryTtl() {
+        FakeClock clock = new FakeClock();
+        ExpiringPacMap<String, Integer> map = new ExpiringPacMap<>(1000, 1, clock::now);
+        map.put("short", 1, 10);
+        map.put("long", 2, 5000);
+        map.put("default", 3);
+
+        clock.now = 10;
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey("short"));
+
+        clock.now = 1000;
+        assertEquals(1, map.size());
+        assertTrue(map.containsKey("long"));
+
+        clock.now = 5000;
+        assertEquals(0, map.size());
+    }
+
+    @DisplayName("WHEN an entry's TTL is refreshed, THEN its deadline moves and it survives the "
+            + "original deadline.")
+    @Test
+    void testRefresh() {
+        FakeClock clock = new FakeClock();
+        ExpiringPacMap<String, Integer> map = new ExpiringPacMap<>(100, 1, clock::now);
+        map.put("a", 1);
+
+        for (int i = 1; i <= 10; i++) {
+            clock.now = i * 50;
+            map.refresh("a", 100);
+        }
+        clock.now = 599;
+        assertEquals(1, map.get("a"));
+        clock.now = 600;
+        assertThrows(NoSuchElementException.class, () -> map.refresh("a", 100));
+    }
+
+    @DisplayName("WHEN an existing key is put again, THEN its value is replaced and its TTL "
+            + "restarts.")
+    @Test
+    void testPutReplaces() {
+        FakeClock clock = new FakeClock();
+        ExpiringPacMap<String, Integer> map = new ExpiringPacMap<>(100, 1, clock::now);
+        map.put("a", 1);
+        clock.now = 80;
+        map.put("a", 2);
+        clock.now = 150;
+        assertEquals(2, map.get("a"));
+        assertEquals(1, map.size());
+    }
+
+    @DisplayName("WHEN an entry is removed, THEN it is absent and does not expire later.")
+    @Test
+    void testRemoveCancels() {
+        FakeClock clock = new FakeClock();
+        ExpiringPacMap<String, Integer> map = new ExpiringPacMap<>(100, 1, clock::now);
+        map.put("a", 1);
+        assertEquals(1, map.remove("a"));
+        assertThrows(NoSuchElementException.class, () -> map.remove("a"));
+
+        map.put("a", 2, 500);
+        clock.now = 100;
+        assertEquals(2, map.get("a"));
+    }
+
+    @DisplayName("WHEN ticks are coarser than TTLs, THEN entries never expire early.")
+    @Test
+    void testCoarseTicksNeverExpireEarly() {
+        FakeClock clock = new FakeClock();
+        ExpiringPacMap<Integer, Integer> map = new ExpiringPacMap<>(1, 64, clock::now);
+        for (int i = 1; i <= 200; i++) {
+            map.put(i, i, i);
+        }
+        for (clock.now = 0; clock.now <= 200; clock.now++) {
+            for (int i = 1; i <= 200; i++) {
+                assertEquals(i > clock.now, map.containsKey(i));
+            }
+        }
+    }
+
+    @DisplayName("WHEN deadlines span several wheel levels, THEN every entry expires exactly at "
+            + "its deadline.")
+    @Test
+    void testCascadingLevels() {
+        FakeClock clock = new FakeClock();
+        clock.now = 12345;
+        ExpiringPacMap<Long, Long> map = new ExpiringPacMap<>(1, 1, clock::now);
+        long[] ttls = {1, 63, 64, 65, 4095, 4096, 4097, 262_143, 262_144, 1_000_000};
+        for (long ttl : ttls) {
+            map.put(ttl, ttl, ttl);
+        }
+        long start = clock.now;
+        for (long ttl : ttls) {
+            clock.now = start + ttl - 1;
+            assertTrue(map.containsKey(ttl));
+            clock.now = start + ttl;
+            assertFalse(map.containsKey(ttl));
+        }
+        assertEquals(0, map.size());
+    }
+
+    @DisplayName("WHEN iterating, THEN only unexpired keys are yielded.")
+    @Test
+    void testIteratorSkipsExpired() {
+        FakeClock clock = new FakeClock();
+        ExpiringPacMap<String, Integer> map = new ExpiringPacMap<>(100, 1000, clock::now);
+        map.put("a", 1, 10);
+        map.put("b", 2, 500);
+        map.put("c", 3, 10);
+        clock.now = 20; // still within the first tick, so nothing has been purged yet
+
+        Set<String> keys = new HashSet<>();
+        for (String k : map) {
+            keys.add(k);
+        }
+        assertEquals(Set.of("b"), keys);
+    }
+}
@@ -0,0 +1,52 @@
+package cs2110;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Measures the sequential I/O throughput of `ExternalMinPQueue`: the rate at which runs are
+ * spilled while elements are added, and the rate at which they are merged back while the queue is
+ * drained. Run with `java cs2110.ExternalMinPQueueBenchmark [elements] [memoryBudget] [dir]`.
+ */
+public class ExternalMinPQueueBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        int budget = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        Path dir = args.length > 2 ? Path.of(args[2]) : Files.createTempDirectory("pqbench");
+
+        Random rng = new Random(2110);
+        try (ExternalMinPQueue<Long> pq = new ExternalMinPQueue<>(Codec.LONG, dir,
+                budget)) {
+            long start = System.nanoTime();
+            for (long i = 0; i < n; i++) {
+                pq.add(i, rng.nextDouble());
+            }
+            double addSeconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("add:    %,d elements in %.2f s (%,.0f/s), %d runs, %.1f MB "
+                            + "written, %.1f MB/s%n", n, addSeconds, n / addSeconds,
+                    pq.runCount(), pq.bytesWritten() / 1e6, pq.bytesWritten() / 1e6 / addSeconds);
+
+            long writtenBeforeDrain = pq.bytesWritten();
+            start = System.nanoTime();
+            double prev = Double.NEGATIVE_INFINITY;
+            while (!pq.isEmpty()) {
+                double p = pq.minPriority();
+                if (p < prev) {
+                    throw new AssertionError("out of order");
+                }
+                prev = p;
+                pq.remove();
+            }
+            double drainSeconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("drain:  %,d elements in %.2f s (%,.0f/s), %.1f MB read, "
+                            + "%.1f MB/s%n", n, drainSeconds, n / drainSeconds,
+                    pq.bytesRead() / 1e6, pq.bytesRead() / 1e6 / drainSeconds);
+            if (pq.bytesWritten() != writtenBeforeDrain) {
+                throw new AssertionError("draining should not write");
+            }
+        }
+    }
+}
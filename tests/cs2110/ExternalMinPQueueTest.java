@@ -0,0 +1,254 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `ExternalMinPQueue`.
+ */
+class ExternalMinPQueueTest {
+
+    @DisplayName("WHEN the queue stays within its memory budget, THEN it behaves like an in-memory "
+            + "queue and creates no run files.")
+    @Test
+    void testInMemory() throws IOException {
+        Path dir = Files.createTempDirectory("pq");
+        try (ExternalMinPQueue<String> pq = new ExternalMinPQueue<>(Codec.STRING,
+                dir, 10)) {
+            assertThrows(NoSuchElementException.class, pq::peek);
+            pq.add("C", 3.0);
+            pq.add("A", 1.0);
+            pq.add("B", 2.0);
+            assertEquals(0, pq.runCount());
+            assertEquals("A", pq.peek());
+            assertEquals(1.0, pq.minPriority());
+            assertEquals("A", pq.remove());
+            assertEquals("B", pq.remove());
+            assertEquals("C", pq.remove());
+            assertTrue(pq.isEmpty());
+            assertThrows(NoSuchElementException.class, pq::remove);
+        }
+    }
+
+    @DisplayName("WHEN many runs are spilled, THEN they are merged in tiers, so each element is "
+            + "written O(log_maxRuns(n / memoryBudget)) times rather than once per merge.")
+    @Test
+    void testTieredMergeIo() throws IOException {
+        Path dir = Files.createTempDirectory("pq");
+        Random rng = new Random(33);
+        int budget = 1000;
+        int maxRuns = 4;
+        int n = 64_000;
+        // The number of tiers above the spilled runs, `ceil(log_maxRuns(n / budget))`.
+        int tiers = 0;
+        for (long size = budget; size < n; size *= maxRuns) {
+            tiers++;
+        }
+        try (ExternalMinPQueue<Integer> pq = new ExternalMinPQueue<>(Codec.INTEGER,
+                dir, budget, maxRuns)) {
+            for (int i = 0; i < n; i++) {
+                pq.add(i, rng.nextDouble());
+            }
+            pq.add(n, 2.0); // spill the last full heap
+            // A record of an `Integer` is a 12-byte header and 4 bytes of key.
+            assertTrue(pq.bytesWritten() <= 16L * n * (1 + tiers));
+            assertEquals(1, pq.runCount());
+
+            double prev = -Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                double curr = pq.minPriority();
+                assertTrue(curr >= prev);
+                prev = curr;
+                pq.remove();
+            }
+            assertEquals(n, pq.remove());
+        }
+    }
+
+    @DisplayName("WHEN more elements are added than fit in memory, THEN runs are spilled and "
+            + "elements still come out in priority order.")
+    @Test
+    void testSpillsAndMerges() throws IOException {
+        Path dir = Files.createTempDirectory("pq");
+        Random rng = new Random(2110);
+        int n = 10_000;
+        try (ExternalMinPQueue<Integer> pq = new ExternalMinPQueue<>(Codec.INTEGER,
+                dir, 500, 4)) {
+            for (int i = 0; i < n; i++) {
+                pq.add(i, rng.nextInt(100_000));
+            }
+            assertEquals(n, pq.size());
+            assertTrue(pq.runCount() > 0);
+            assertTrue(pq.runCount() <= 4);
+            assertTrue(pq.bytesWritten() > 0);
+
+            double prev = -Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                double curr = pq.minPriority();
+                assertTrue(curr >= prev);
+                prev = curr;
+                pq.remove();
+                if (i == n / 2) {
+                    pq.add(-1, prev); // interleave adds with removals
+                    assertEquals(-1, pq.remove());
+                }
+            }
+            assertTrue(pq.isEmpty());
+            assertEquals(0, pq.runCount());
+        }
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @DisplayName("WHEN string keys of varying lengths are spilled, THEN they are read back intact.")
+    @Test
+    void testStringRoundTrip() throws IOException {
+        Path dir = Files.createTempDirectory("pq");
+        try (ExternalMinPQueue<String> pq = new ExternalMinPQueue<>(Codec.STRING,
+                dir, 3)) {
+            for (int i = 0; i < 20; i++) {
+                pq.add("x".repeat(i * 50) + i, i);
+            }
+            for (int i = 0; i < 20; i++) {
+                assertEquals("x".repeat(i * 50) + i, pq.remove());
+            }
+        }
+    }
+
+    @DisplayName("WHEN a key is larger than a run's buffer, THEN it is spilled, merged, and read "
+            + "back intact.")
+    @Test
+    void testOversizedKey() throws IOException {
+        Path dir = Files.createTempDirectory("pq");
+        String huge = "y".repeat(80_000);
+        try (ExternalMinPQueue<String> pq = new ExternalMinPQueue<>(Codec.STRING, dir, 4, 2)) {
+            pq.add("c", 3);
+            pq.add(huge, 2);
+            pq.add("a", 1);
+            pq.add("d", 4);
+            for (int i = 5; i < 20; i++) {
+                pq.add("e" + i, i); // spills and merges the huge key with the others
+            }
+            assertEquals(19, pq.size());
+            assertEquals("a", pq.remove());
+            assertEquals(huge, pq.remove());
+            assertEquals("c", pq.remove());
+            assertEquals("d", pq.remove());
+            for (int i = 5; i < 20; i++) {
+                assertEquals("e" + i, pq.remove());
+            }
+        }
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * Encodes strings like `Codec.STRING`, but fails as a full disk would once `encodesLeft`
+     * keys have been encoded.
+     */
+    private static class FailingCodec implements Codec<String> {
+
+        int encodesLeft = Integer.MAX_VALUE;
+
+        @Override
+        public void encode(String value, ByteBuffer out) {
+            if (encodesLeft-- <= 0) {
+                throw new UncheckedIOException(new IOException("no space left on device"));
+            }
+            Codec.STRING.encode(value, out);
+        }
+
+        @Override
+        public String decode(ByteBuffer in) {
+            return Codec.STRING.decode(in);
+        }
+    }
+
+    @DisplayName("WHEN writing a run fails partway, THEN `add()` throws, no element is lost, and "
+            + "no partial run file is left behind.")
+    @Test
+    void testFailedSpill() throws IOException {
+        Path dir = Files.createTempDirectory("pq");
+        FailingCodec codec = new FailingCodec();
+        try (ExternalMinPQueue<String> pq = new ExternalMinPQueue<>(codec, dir, 4)) {
+            for (int i = 0; i < 4; i++) {
+                pq.add("k" + i, 4 - i);
+            }
+            codec.encodesLeft = 2;
+            assertThrows(UncheckedIOException.class, () -> pq.add("k4", 0));
+            assertEquals(4, pq.size());
+            assertEquals(0, pq.runCount());
+            try (var files = Files.list(dir)) {
+                assertEquals(0, files.count());
+            }
+
+            codec.encodesLeft = Integer.MAX_VALUE;
+            pq.add("k4", 0);
+            assertEquals(1, pq.runCount());
+            for (int i = 4; i >= 0; i--) {
+                assertEquals("k" + i, pq.remove());
+            }
+        }
+    }
+
+    @DisplayName("WHEN merging runs fails partway, THEN `add()` throws, the runs being merged are "
+            + "kept, and no partial run file is left behind.")
+    @Test
+    void testFailedMerge() throws IOException {
+        Path dir = Files.createTempDirectory("pq");
+        FailingCodec codec = new FailingCodec();
+        try (ExternalMinPQueue<String> pq = new ExternalMinPQueue<>(codec, dir, 4, 2)) {
+            for (int i = 0; i < 8; i++) {
+                pq.add("k" + i, i % 2 == 0 ? i : 10 - i);
+            }
+            assertEquals(1, pq.runCount());
+            // The spill of the second run succeeds; merging it with the first fails.
+            codec.encodesLeft = 4 + 3;
+            assertThrows(UncheckedIOException.class, () -> pq.add("k8", 8));
+            assertEquals(8, pq.size());
+            assertEquals(2, pq.runCount());
+            try (var files = Files.list(dir)) {
+                assertEquals(2, files.count());
+            }
+
+            codec.encodesLeft = Integer.MAX_VALUE;
+            pq.add("k8", 8);
+            double prev = -Double.MAX_VALUE;
+            Set<String> seen = new HashSet<>();
+            while (!pq.isEmpty()) {
+                assertTrue(pq.minPriority() >= prev);
+                prev = pq.minPriority();
+                seen.add(pq.remove());
+            }
+            assertEquals(9, seen.size());
+        }
+    }
+
+    @DisplayName("WHEN a queue with runs is closed, THEN its run files are deleted.")
+    @Test
+    void testCloseDeletesRuns() throws IOException {
+        Path dir = Files.createTempDirectory("pq");
+        ExternalMinPQueue<Long> pq = new ExternalMinPQueue<>(Codec.LONG, dir, 2);
+        for (long i = 0; i < 10; i++) {
+            pq.add(i, -i);
+        }
+        assertEquals(9L, pq.peek());
+        pq.close();
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package cs2110;
+
+import java.util.Random;
+
+/**
+ * Compares `containsKey()` on a large `ProbingPacMap` with the same lookups through a
+ * `FilteredPacMap`, for workloads with increasing fractions of misses, and reports the filter's
+ * observed false-positive rate. Run with
+ * `java cs2110.FilteredPacMapBenchmark [entries] [lookups]`.
+ */
+public class FilteredPacMapBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+        System.out.printf("%,d entries, %,d lookups per run%n", n, lookups);
+
+        ProbingPacMap<String, Integer> plain = new ProbingPacMap<>();
+        FilteredPacMap<String, Integer> filtered = new FilteredPacMap<>();
+        for (int i = 0; i < n; i++) {
+            plain.put("key" + i, i);
+            filtered.put("key" + i, i);
+        }
+
+        for (double missFraction : new double[]{0.5, 0.9, 0.99}) {
+            String[] queries = new String[lookups];
+            Random rng = new Random(40);
+            for (int q = 0; q < lookups; q++) {
+                int i = rng.nextInt(n);
+                queries[q] = rng.nextDouble() < missFraction ? "miss" + i : "key" + i;
+            }
+            System.out.printf("%.0f%% misses%n", missFraction * 100);
+            // Warm up each map before timing it.
+            for (int round = 0; round < 2; round++) {
+                boolean report = round == 1;
+                time(report, "ProbingPacMap", plain, queries);
+                filtered.resetStatistics();
+                time(report, "FilteredPacMap", filtered, queries);
+            }
+            System.out.printf("    observed false-positive rate %.3f%% (%,d filtered misses)%n",
+                    filtered.falsePositiveRate() * 100, filtered.filteredMisses());
+        }
+    }
+
+    private static void time(boolean report, String name, PacMap<String, Integer> map,
+            String[] queries) {
+        long start = System.nanoTime();
+        int found = 0;
+        for (String q : queries) {
+            if (map.containsKey(q)) {
+                found++;
+            }
+        }
+        if (report) {
+            System.out.printf("  %-15s %7.1f ns/lookup  (%,d found)%n", name,
+                    (double) (System.nanoTime() - start) / queries.length, found);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `FilteredPacMap`.
+ */
+class FilteredPacMapTest {
+
+    @DisplayName("WHEN entries are put, overwritten, and removed, THEN the map behaves like the "
+            + "map it filters.")
+    @Test
+    void testMapOperations() {
+        FilteredPacMap<String, Integer> map = new FilteredPacMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("a", 3);
+        assertEquals(2, map.size());
+        assertEquals(3, map.get("a"));
+        assertTrue(map.containsKey("b"));
+        assertFalse(map.containsKey("c"));
+        assertThrows(NoSuchElementException.class, () -> map.get("c"));
+        assertEquals(2, map.remove("b"));
+        assertFalse(map.containsKey("b"));
+        assertThrows(NoSuchElementException.class, () -> map.remove("b"));
+
+        Set<String> keys = new HashSet<>();
+        for (String key : map) {
+            keys.add(key);
+        }
+        assertEquals(Set.of("a"), keys);
+    }
+
+    @DisplayName("WHEN the map grows far beyond its initial filter, THEN every key is still found "
+            + "and most misses are answered by the filter.")
+    @Test
+    void testGrowth() {
+        FilteredPacMap<Integer, Integer> map = new FilteredPacMap<>();
+        int n = 50_000;
+        for (int i = 0; i < n; i++) {
+            map.put(i, -i);
+        }
+        for (int i = 0; i < n; i++) {
+            assertEquals(-i, map.get(i));
+        }
+        map.resetStatistics();
+        for (int i = n; i < 2 * n; i++) {
+            assertFalse(map.containsKey(i));
+        }
+        assertEquals(n, map.filteredMisses() + map.falsePositives());
+        assertTrue(map.falsePositiveRate() < 0.03, "rate: " + map.falsePositiveRate());
+    }
+
+    @DisplayName("WHEN keys are removed and added indefinitely, THEN stale filter bits are "
+            + "cleared by rebuilds and the false-positive rate stays low.")
+    @Test
+    void testChurn() {
+        FilteredPacMap<Integer, Integer> map = new FilteredPacMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            map.put(i, i);
+            if (i >= 1000) {
+                map.remove(i - 1000);
+            }
+        }
+        assertEquals(1000, map.size());
+        map.resetStatistics();
+        for (int i = 0; i < 199_000; i++) {
+            assertFalse(map.containsKey(i));
+        }
+        assertTrue(map.falsePositiveRate() < 0.05, "rate: " + map.falsePositiveRate());
+    }
+
+    @DisplayName("WHEN a non-empty map is wrapped, THEN its existing keys are found.")
+    @Test
+    void testWrapExisting() {
+        ProbingPacMap<String, Integer> inner = new ProbingPacMap<>();
+        inner.put("x", 1);
+        FilteredPacMap<String, Integer> map = new FilteredPacMap<>(inner, 8);
+        assertEquals(1, map.get("x"));
+        assertEquals(0, map.falsePositiveRate());
+        assertThrows(IllegalArgumentException.class, () -> new FilteredPacMap<>(inner, 0));
+    }
+}
@@ -0,0 +1,49 @@
+package cs2110;
+
+import java.util.Random;
+
+/**
+ * Compares the flat and blocked (B-heap) layouts of `IntMinPQueue` on the "hold" workload: fill a
+ * queue of size N with random priorities, then repeatedly remove the minimum and reinsert it with
+ * a larger random priority, which sifts across the full depth of the heap. Sizes run from 10^3 up
+ * to 10^maxExponent. Run with `java cs2110.HeapLayoutBenchmark [maxExponent] [opsPerSize]`; sizes
+ * of 10^8 need a heap of about 4 GB.
+ */
+public class HeapLayoutBenchmark {
+
+    public static void main(String[] args) {
+        int maxExponent = args.length > 0 ? Integer.parseInt(args[0]) : 7;
+        int ops = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+
+        System.out.printf("%12s %14s %14s %14s%n", "N", "flat ns/op", "line ns/op", "page ns/op");
+        int n = 1000;
+        for (int exponent = 3; exponent <= maxExponent; exponent++, n *= 10) {
+            double flat = hold(new IntMinPQueue(n), n, ops);
+            double line = hold(new IntMinPQueue(n, IntMinPQueue.CACHE_LINE_BLOCK_HEIGHT), n, ops);
+            double page = hold(new IntMinPQueue(n, IntMinPQueue.PAGE_BLOCK_HEIGHT), n, ops);
+            System.out.printf("%,12d %14.1f %14.1f %14.1f%n", n, flat, line, page);
+        }
+    }
+
+    /**
+     * Fill `pq` with elements `[0..n)` and time `ops` hold operations, returning nanoseconds per
+     * operation.
+     */
+    private static double hold(IntMinPQueue pq, int n, int ops) {
+        Random rng = new Random(34);
+        for (int i = 0; i < n; i++) {
+            pq.addOrUpdate(i, rng.nextDouble());
+        }
+        // Warm up on a prefix of the workload.
+        for (int i = 0; i < ops / 10; i++) {
+            double min = pq.minPriority();
+            pq.addOrUpdate(pq.removeInt(), min + rng.nextDouble());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ops; i++) {
+            double min = pq.minPriority();
+            pq.addOrUpdate(pq.removeInt(), min + rng.nextDouble());
+        }
+        return (double) (System.nanoTime() - start) / ops;
+    }
+}
@@ -0,0 +1,98 @@
+package cs2110;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures `HeavyHitters` throughput and accuracy on Zipfian streams, against exact counting of
+ * every key in a `ProbingPacMap`. Reports the summary's error bound and how many of the true top
+ * `k` items it ranks in its own top `k`. Run with
+ * `java cs2110.HeavyHittersBenchmark [streamLength] [universe] [capacity] [k]`.
+ */
+public class HeavyHittersBenchmark {
+
+    public static void main(String[] args) {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int universe = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+        int k = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        System.out.printf("%,d items from a universe of %,d; capacity %,d, top %d%n", length,
+                universe, capacity, k);
+
+        for (double skew : new double[]{0.8, 1.0, 1.2}) {
+            Integer[] stream = zipfStream(length, universe, skew, new Random(39));
+            System.out.printf("Zipf s=%.1f%n", skew);
+            // Warm up each method before timing it.
+            for (int round = 0; round < 2; round++) {
+                run(round == 1, stream, capacity, k);
+            }
+        }
+    }
+
+    /**
+     * Return `length` items drawn from `[0..universe)`, where item `i` has probability
+     * proportional to `1 / (i + 1)^skew`.
+     */
+    private static Integer[] zipfStream(int length, int universe, double skew, Random rng) {
+        double[] cdf = new double[universe];
+        double sum = 0;
+        for (int i = 0; i < universe; i++) {
+            sum += 1 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        Integer[] items = new Integer[universe];
+        for (int i = 0; i < universe; i++) {
+            items[i] = i;
+        }
+        Integer[] stream = new Integer[length];
+        for (int j = 0; j < length; j++) {
+            int i = Arrays.binarySearch(cdf, rng.nextDouble() * sum);
+            stream[j] = items[Math.min(universe - 1, i < 0 ? -i - 1 : i)];
+        }
+        return stream;
+    }
+
+    private static void run(boolean report, Integer[] stream, int capacity, int k) {
+        long start = System.nanoTime();
+        ProbingPacMap<Integer, Long> exact = new ProbingPacMap<>();
+        for (Integer item : stream) {
+            exact.put(item, exact.containsKey(item) ? exact.get(item) + 1 : 1L);
+        }
+        double exactMs = (System.nanoTime() - start) / 1e6;
+
+        start = System.nanoTime();
+        HeavyHitters<Integer> hh = new HeavyHitters<>(capacity);
+        for (Integer item : stream) {
+            hh.add(item);
+        }
+        double hhMs = (System.nanoTime() - start) / 1e6;
+
+        if (!report) {
+            return;
+        }
+        // Item `i` is the `i`th most likely, so the true top `k` is very nearly `[0..k)`; rank
+        // by the exact counts to be sure.
+        long[] counts = new long[exact.size()];
+        int c = 0;
+        for (Integer item : exact) {
+            counts[c++] = exact.get(item);
+        }
+        Arrays.sort(counts);
+        long kthCount = counts[Math.max(0, counts.length - k)];
+        List<HeavyHitters.Estimate<Integer>> top = hh.topK(k);
+        long hits = top.stream().filter(e -> exact.get(e.item()) >= kthCount).count();
+        long maxObservedError = 0;
+        for (HeavyHitters.Estimate<Integer> e : hh.topK(capacity)) {
+            maxObservedError = Math.max(maxObservedError, e.count() - exact.get(e.item()));
+        }
+
+        System.out.printf("  exact ProbingPacMap   %8.1f ms  %6.1f M items/s  %,9d keys%n",
+                exactMs, stream.length / exactMs / 1e3, exact.size());
+        System.out.printf("  HeavyHitters          %8.1f ms  %6.1f M items/s  %,9d keys%n",
+                hhMs, stream.length / hhMs / 1e3, hh.size());
+        System.out.printf("    top-%d recall %d/%d; error bound %,d (N/capacity %,d), largest "
+                        + "actual overestimate %,d%n", k, hits, k, hh.maxError(),
+                stream.length / capacity, maxObservedError);
+    }
+}
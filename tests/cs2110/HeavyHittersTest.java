@@ -0,0 +1,113 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `HeavyHitters`.
+ */
+class HeavyHittersTest {
+
+    @DisplayName("WHEN no more distinct items are added than the capacity, THEN every count is "
+            + "exact.")
+    @Test
+    void testExactWithinCapacity() {
+        HeavyHitters<String> hh = new HeavyHitters<>(3);
+        hh.add("a");
+        hh.add("b", 5);
+        hh.add("a");
+        hh.add("c", 2);
+        assertEquals(3, hh.size());
+        assertEquals(9, hh.total());
+        assertEquals(0, hh.maxError());
+        assertEquals(new HeavyHitters.Estimate<>("b", 5, 0), hh.estimate("b"));
+        assertEquals(new HeavyHitters.Estimate<>("a", 2, 0), hh.estimate("a"));
+        assertEquals(new HeavyHitters.Estimate<>("z", 0, 0), hh.estimate("z"));
+        assertEquals(List.of("b", "a", "c"),
+                hh.topK(3).stream().map(HeavyHitters.Estimate::item).toList());
+    }
+
+    @DisplayName("WHEN a new item arrives while every counter is in use, THEN the item with the "
+            + "smallest counter is evicted and the new item inherits its counter as error.")
+    @Test
+    void testEviction() {
+        HeavyHitters<String> hh = new HeavyHitters<>(2);
+        hh.add("a", 3);
+        hh.add("b", 1);
+        hh.add("c");
+        assertEquals(2, hh.size());
+        assertEquals(new HeavyHitters.Estimate<>("c", 2, 1), hh.estimate("c"));
+        assertEquals(1, hh.estimate("c").lowerBound());
+        // "b" is no longer tracked; its frequency is bounded by the smallest counter.
+        assertEquals(new HeavyHitters.Estimate<>("b", 2, 2), hh.estimate("b"));
+        assertEquals(2, hh.maxError());
+    }
+
+    @DisplayName("WHEN a skewed stream is summarized, THEN every estimate bounds the true "
+            + "frequency, the error is at most N / capacity, and the frequent items are found.")
+    @Test
+    void testBoundsOnSkewedStream() {
+        int capacity = 50;
+        HeavyHitters<Integer> hh = new HeavyHitters<>(capacity);
+        Map<Integer, Long> truth = new HashMap<>();
+        Random rng = new Random(39);
+        int n = 200_000;
+        for (int i = 0; i < n; i++) {
+            // Item `j` occurs with probability proportional to roughly 1/j^2.
+            int item = (int) (1 / Math.sqrt(rng.nextDouble() + 1e-9));
+            hh.add(item);
+            truth.merge(item, 1L, Long::sum);
+        }
+
+        assertEquals(n, hh.total());
+        assertTrue(hh.maxError() <= n / capacity);
+        for (Map.Entry<Integer, Long> e : truth.entrySet()) {
+            HeavyHitters.Estimate<Integer> est = hh.estimate(e.getKey());
+            assertTrue(est.lowerBound() <= e.getValue());
+            assertTrue(e.getValue() <= est.count());
+            assertTrue(est.error() <= hh.maxError());
+        }
+
+        double phi = 1.0 / capacity;
+        List<HeavyHitters.Estimate<Integer>> frequent = hh.frequentItems(phi);
+        for (Map.Entry<Integer, Long> e : truth.entrySet()) {
+            if (e.getValue() > phi * n) {
+                assertTrue(frequent.stream().anyMatch(est -> est.item().equals(e.getKey())));
+            }
+        }
+        for (int i = 1; i < frequent.size(); i++) {
+            assertTrue(frequent.get(i - 1).count() >= frequent.get(i).count());
+        }
+        assertEquals(1, hh.topK(1).getFirst().item());
+    }
+
+    @DisplayName("WHEN frequent items are requested with `phi` below 1 / capacity, THEN it throws "
+            + "an `IllegalArgumentException`, and at 1 / capacity every heavier item is found.")
+    @Test
+    void testFrequentItemsBoundary() {
+        int capacity = 4;
+        HeavyHitters<Integer> hh = new HeavyHitters<>(capacity);
+        // Item 0 occurs 30 times out of 100, above N / capacity = 25; the rest are distinct.
+        for (int i = 0; i < 100; i++) {
+            hh.add(i % 10 < 3 ? 0 : 1000 + i);
+        }
+        List<HeavyHitters.Estimate<Integer>> frequent = hh.frequentItems(1.0 / capacity);
+        assertEquals(0, frequent.getFirst().item());
+        assertThrows(IllegalArgumentException.class,
+                () -> hh.frequentItems(Math.nextDown(1.0 / capacity)));
+        assertThrows(IllegalArgumentException.class, () -> hh.frequentItems(1.5));
+    }
+
+    @DisplayName("WHEN a `HeavyHitters` is created with a non-positive capacity, THEN it throws "
+            + "an `IllegalArgumentException`.")
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new HeavyHitters<String>(0));
+    }
+}
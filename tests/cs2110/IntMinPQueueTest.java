@@ -0,0 +1,123 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `IntMinPQueue`.
+ */
+class IntMinPQueueTest {
+
+    @DisplayName("WHEN a new `IntMinPQueue` is constructed, THEN it should be empty and throw on "
+            + "`peekInt()` and `removeInt()`.")
+    @Test
+    void testEmptyAtConstruction() {
+        IntMinPQueue pq = new IntMinPQueue(10);
+        assertTrue(pq.isEmpty());
+        assertEquals(10, pq.capacity());
+        assertThrows(NoSuchElementException.class, pq::peekInt);
+        assertThrows(NoSuchElementException.class, pq::minPriority);
+        assertThrows(NoSuchElementException.class, pq::removeInt);
+    }
+
+    @DisplayName("WHEN priorities are decreased and increased, THEN elements come out in priority "
+            + "order.")
+    @Test
+    void testUpdates() {
+        IntMinPQueue pq = new IntMinPQueue(5);
+        pq.addOrUpdate(0, 1.0);
+        pq.addOrUpdate(1, 2.0);
+        pq.addOrUpdate(2, 3.0);
+        pq.addOrUpdate(0, 10.0);
+        pq.addOrUpdate(2, 0.5);
+
+        assertEquals(3, pq.size());
+        assertEquals(2, pq.peekInt());
+        assertEquals(10.0, pq.priorityOf(0));
+        assertEquals(2, pq.removeInt());
+        assertEquals(1, pq.removeInt());
+        assertEquals(0, pq.removeInt());
+        assertFalse(pq.contains(0));
+    }
+
+    @DisplayName("WHEN random operations are applied, THEN the queue agrees with `MinPQueue`.")
+    @Test
+    void testAgreesWithMinPQueue() {
+        int n = 500;
+        IntMinPQueue pq = new IntMinPQueue(n);
+        MinPQueue<Integer> reference = new MinPQueue<>();
+        Random rng = new Random(2110);
+        for (int step = 0; step < 20_000; step++) {
+            int key = rng.nextInt(n);
+            int op = rng.nextInt(4);
+            if (op < 2) {
+                double priority = rng.nextInt(1000);
+                pq.addOrUpdate(key, priority);
+                reference.addOrUpdate(key, priority);
+            } else if (op == 2 && reference.contains(key)) {
+                assertEquals(reference.remove(key), pq.remove(key));
+            } else if (!reference.isEmpty()) {
+                assertEquals(reference.minPriority(), pq.minPriority());
+                int removed = pq.removeInt();
+                assertFalse(pq.contains(removed));
+                reference.remove(removed);
+            }
+            assertEquals(reference.size(), pq.size());
+        }
+    }
+
+    @DisplayName("WHEN the blocked layout is used with various block heights and capacities, THEN "
+            + "the queue agrees with the flat layout.")
+    @Test
+    void testBlockedLayoutAgreesWithFlat() {
+        Random rng = new Random(34);
+        for (int capacity : new int[]{1, 2, 7, 8, 100, 1000, 4097}) {
+            for (int blockHeight : new int[]{1, 2, IntMinPQueue.CACHE_LINE_BLOCK_HEIGHT, 5,
+                    IntMinPQueue.PAGE_BLOCK_HEIGHT}) {
+                IntMinPQueue flat = new IntMinPQueue(capacity);
+                IntMinPQueue blocked = new IntMinPQueue(capacity, blockHeight);
+                for (int step = 0; step < 4 * capacity + 20; step++) {
+                    int key = rng.nextInt(capacity);
+                    if (rng.nextInt(3) > 0) {
+                        double priority = rng.nextInt(10 * capacity);
+                        flat.addOrUpdate(key, priority);
+                        blocked.addOrUpdate(key, priority);
+                    } else if (!flat.isEmpty()) {
+                        assertEquals(flat.minPriority(), blocked.minPriority());
+                        blocked.remove(flat.removeInt());
+                    }
+                    assertEquals(flat.size(), blocked.size());
+                }
+                while (!flat.isEmpty()) {
+                    assertEquals(flat.minPriority(), blocked.minPriority());
+                    blocked.remove(flat.removeInt());
+                }
+                assertTrue(blocked.isEmpty());
+            }
+        }
+        IntMinPQueue full = new IntMinPQueue(1000, IntMinPQueue.CACHE_LINE_BLOCK_HEIGHT);
+        for (int i = 999; i >= 0; i--) {
+            full.addOrUpdate(i, i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, full.removeInt());
+        }
+    }
+
+    @DisplayName("WHEN a queue is cleared, THEN it is empty and can be reused.")
+    @Test
+    void testClear() {
+        IntMinPQueue pq = new IntMinPQueue(4);
+        pq.addOrUpdate(3, 1.0);
+        pq.addOrUpdate(1, 2.0);
+        pq.clear();
+        assertTrue(pq.isEmpty());
+        assertFalse(pq.contains(3));
+        pq.addOrUpdate(1, 5.0);
+        assertEquals(1, pq.removeInt());
+    }
+}
@@ -0,0 +1,102 @@
+package cs2110;
+
+import java.util.Random;
+
+/**
+ * Measures how much `Landmarks` and `PathQueryCache` cut the work of repeated point-to-point
+ * queries on static grid and road-like graphs. Queries are drawn with repeats from a pool of
+ * distinct `(source, target)` pairs, the more popular pairs more often. Reports the time per query
+ * and the vertices settled per query (0 for a cache hit) for Dijkstra, Euclidean A*, ALT, and ALT
+ * behind a cache holding a quarter of the pool. Run with
+ * `java cs2110.LandmarksBenchmark [side] [landmarks] [pool] [queries]`.
+ */
+public class LandmarksBenchmark {
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int pool = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+        int queries = args.length > 3 ? Integer.parseInt(args[3]) : 10_000;
+
+        run("grid", SyntheticGraphs.grid(side, side, 1), count, pool, queries);
+        run("road", SyntheticGraphs.roadNetwork(side * side, 2), count, pool, queries);
+    }
+
+    private static void run(String name, SyntheticGraphs.Embedded g, int count, int pool,
+            int queries) {
+        CsrGraph graph = g.graph();
+        System.out.printf("%s: %,d vertices, %,d edges; %,d queries over %,d distinct pairs%n",
+                name, graph.vertexCount(), graph.edgeCount(), queries, pool);
+        ShortestPaths sp = new ShortestPaths(graph);
+
+        long start = System.nanoTime();
+        Landmarks alt = Landmarks.select(sp, count, 46);
+        System.out.printf("  preprocessing %d landmarks: %.0f ms, %.1f MB%n", count,
+                (System.nanoTime() - start) / 1e6,
+                2.0 * count * graph.vertexCount() * Double.BYTES / 1e6);
+
+        Random rng = new Random(3);
+        int[] poolSources = new int[pool];
+        int[] poolTargets = new int[pool];
+        for (int p = 0; p < pool; p++) {
+            poolSources[p] = rng.nextInt(graph.vertexCount());
+            poolTargets[p] = rng.nextInt(graph.vertexCount());
+        }
+        // Pair `p` is drawn with probability proportional to `1 / (p + 1)`.
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        for (int q = 0; q < queries; q++) {
+            int p = (int) Math.min(pool - 1, Math.exp(rng.nextDouble() * Math.log(pool + 1)) - 1);
+            sources[q] = poolSources[p];
+            targets[q] = poolTargets[p];
+        }
+
+        // The uncached engines run a tenth of the queries, which is enough to time them.
+        int sample = Math.max(1, queries / 10);
+        // Warm up each engine before timing it.
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            runEngine(report, "Dijkstra", sp, ShortestPaths.NONE, sources, targets, sample);
+            runEngine(report, "A* (Euclidean)", sp, g.euclidean(), sources, targets, sample);
+            runEngine(report, "A* (ALT)", sp, alt, sources, targets, sample);
+
+            PathQueryCache cache = new PathQueryCache(sp, alt, pool / 4);
+            start = System.nanoTime();
+            double check = 0;
+            long settled = 0;
+            for (int q = 0; q < queries; q++) {
+                long misses = cache.misses();
+                check += cache.distance(sources[q], targets[q]);
+                if (cache.misses() > misses) {
+                    settled += sp.lastSettledCount();
+                }
+            }
+            if (report) {
+                report("A* (ALT) + cache", start, queries, check, settled);
+                System.out.printf("    cache hit rate %.1f%%%n",
+                        100.0 * cache.hits() / queries);
+            }
+        }
+    }
+
+    private static void runEngine(boolean report, String engine, ShortestPaths sp,
+            ShortestPaths.Heuristic heuristic, int[] sources, int[] targets, int queries) {
+        long start = System.nanoTime();
+        double check = 0;
+        long settled = 0;
+        for (int q = 0; q < queries; q++) {
+            check += sp.distance(sources[q], targets[q], heuristic);
+            settled += sp.lastSettledCount();
+        }
+        if (report) {
+            report(engine, start, queries, check, settled);
+        }
+    }
+
+    private static void report(String engine, long start, int queries, double check,
+            long settled) {
+        double ms = (System.nanoTime() - start) / 1e6 / queries;
+        System.out.printf("  %-20s %9.3f ms/query  %,12.1f settled/query  (checksum %.1f)%n",
+                engine, ms, (double) settled / queries, check);
+    }
+}
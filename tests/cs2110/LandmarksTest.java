@@ -0,0 +1,115 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `Landmarks` and `PathQueryCache`.
+ */
+class LandmarksTest {
+
+    @DisplayName("WHEN landmarks are selected, THEN their estimates never exceed the true distance "
+            + "and are exact from a vertex to a landmark.")
+    @Test
+    void testAdmissible() {
+        CsrGraph g = SyntheticGraphs.roadNetwork(2000, 7).graph();
+        ShortestPaths sp = new ShortestPaths(g);
+        Landmarks alt = Landmarks.select(sp, 6, 1);
+        assertEquals(6, alt.count());
+        Random rng = new Random(8);
+        for (int q = 0; q < 20; q++) {
+            int t = rng.nextInt(g.vertexCount());
+            double[] reverse = new ShortestPaths(g.reverse()).distancesFrom(t);
+            for (int v = 0; v < g.vertexCount(); v++) {
+                assertTrue(alt.estimate(v, t) <= reverse[v] + 1e-9);
+            }
+        }
+        int landmark = alt.landmarks()[0];
+        int v = rng.nextInt(g.vertexCount());
+        assertEquals(sp.distance(v, landmark), alt.estimate(v, landmark), 1e-9);
+        assertEquals(0, alt.estimate(v, v));
+    }
+
+    @DisplayName("WHEN A* is guided by landmarks, THEN it finds the same distances as Dijkstra "
+            + "while settling far fewer vertices than with the Euclidean heuristic.")
+    @Test
+    void testAltMatchesDijkstra() {
+        SyntheticGraphs.Embedded grid = SyntheticGraphs.grid(60, 60, 9);
+        CsrGraph g = grid.graph();
+        ShortestPaths sp = new ShortestPaths(g);
+        Landmarks alt = Landmarks.select(sp, 8, 2);
+        Random rng = new Random(10);
+        long euclideanSettled = 0;
+        long altSettled = 0;
+        for (int q = 0; q < 50; q++) {
+            int s = rng.nextInt(g.vertexCount());
+            int t = rng.nextInt(g.vertexCount());
+            double expected = sp.distance(s, t, grid.euclidean());
+            euclideanSettled += sp.lastSettledCount();
+            assertEquals(expected, sp.distance(s, t, alt), 1e-9);
+            altSettled += sp.lastSettledCount();
+        }
+        assertTrue(altSettled * 2 < euclideanSettled);
+    }
+
+    @DisplayName("WHEN some vertices cannot reach others, THEN landmark estimates stay finite and "
+            + "A* still reports them unreachable.")
+    @Test
+    void testUnreachable() {
+        // 0 -> 1 -> 2, and an isolated vertex 3.
+        CsrGraph g = CsrGraph.fromEdges(4, new int[]{0, 1}, new int[]{1, 2},
+                new double[]{1, 2});
+        ShortestPaths sp = new ShortestPaths(g);
+        Landmarks alt = Landmarks.select(sp, 3, 0);
+        for (int v = 0; v < 4; v++) {
+            for (int t = 0; t < 4; t++) {
+                assertTrue(alt.estimate(v, t) < Double.POSITIVE_INFINITY);
+                assertEquals(sp.distance(v, t), sp.distance(v, t, alt));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> Landmarks.select(sp, 0, 0));
+    }
+
+    @DisplayName("WHEN queries repeat, THEN the cache answers them without searching, and never "
+            + "holds more than its capacity.")
+    @Test
+    void testCacheHits() {
+        CsrGraph g = SyntheticGraphs.grid(20, 20, 11).graph();
+        ShortestPaths sp = new ShortestPaths(g);
+        PathQueryCache cache = new PathQueryCache(sp, ShortestPaths.NONE, 3);
+        assertEquals(sp.distance(0, 399), cache.distance(0, 399));
+        assertEquals(sp.distance(399, 0), cache.distance(399, 0));
+        assertEquals(sp.distance(0, 399), cache.distance(0, 399));
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+
+        for (int t = 1; t <= 10; t++) {
+            assertEquals(sp.distance(5, t), cache.distance(5, t));
+        }
+        assertEquals(3, cache.size());
+        assertEquals(12, cache.misses());
+        assertThrows(IllegalArgumentException.class,
+                () -> new PathQueryCache(sp, ShortestPaths.NONE, 0));
+    }
+
+    @DisplayName("WHEN the cache is full, THEN an entry hit since the hand last passed it is "
+            + "spared and an unreferenced one is evicted.")
+    @Test
+    void testClockEviction() {
+        CsrGraph g = SyntheticGraphs.grid(10, 10, 12).graph();
+        PathQueryCache cache = new PathQueryCache(new ShortestPaths(g), ShortestPaths.NONE, 2);
+        cache.distance(0, 1);
+        cache.distance(0, 2);
+        cache.distance(0, 1); // referenced, so spared by the next eviction
+        cache.distance(0, 3); // evicts (0, 2)
+
+        long misses = cache.misses();
+        cache.distance(0, 1);
+        assertEquals(misses, cache.misses());
+        cache.distance(0, 2);
+        assertEquals(misses + 1, cache.misses());
+    }
+}
@@ -0,0 +1,73 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `LongLongKeyPacMap`.
+ */
+class LongLongKeyPacMapTest {
+
+    @DisplayName("WHEN entries are put, read, overwritten, and removed, THEN the map reports the "
+            + "expected associations and size.")
+    @Test
+    void testMapOperations() {
+        LongLongKeyPacMap<String> map = new LongLongKeyPacMap<>();
+        map.put(1, 2, "a");
+        map.put(2, 1, "b");
+        map.put(1, 2, "c");
+        assertEquals(2, map.size());
+        assertEquals("c", map.get(1, 2));
+        assertEquals("b", map.get(2, 1));
+        assertFalse(map.containsKey(1, 1));
+        assertEquals("z", map.getOrDefault(1, 1, "z"));
+        assertThrows(NoSuchElementException.class, () -> map.get(1, 1));
+        assertEquals("b", map.remove(2, 1));
+        assertFalse(map.containsKey(2, 1));
+        assertThrows(NoSuchElementException.class, () -> map.remove(2, 1));
+        assertEquals(1, map.size());
+    }
+
+    @DisplayName("WHEN many random keys are put and removed, THEN the map agrees with a "
+            + "`HashMap` keyed by the same pairs.")
+    @Test
+    void testAgreesWithHashMap() {
+        LongLongKeyPacMap<Integer> map = new LongLongKeyPacMap<>();
+        Map<String, Integer> reference = new HashMap<>();
+        Random rng = new Random(43);
+        for (int i = 0; i < 100_000; i++) {
+            long a = rng.nextInt(300);
+            long b = rng.nextBoolean() ? rng.nextLong() % 4 : Long.MIN_VALUE + rng.nextInt(3);
+            String key = a + "," + b;
+            if (rng.nextInt(3) == 0 && reference.containsKey(key)) {
+                assertEquals(reference.remove(key), map.remove(a, b));
+            } else {
+                map.put(a, b, i);
+                reference.put(key, i);
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        int[] visited = {0};
+        map.forEach((a, b, v) -> {
+            assertEquals(reference.get(a + "," + b), v);
+            visited[0]++;
+        });
+        assertEquals(reference.size(), visited[0]);
+    }
+
+    @DisplayName("WHEN `(a, b)` and `(b, a)` are both keys, THEN they are distinct entries.")
+    @Test
+    void testComponentOrderMatters() {
+        LongLongKeyPacMap<String> map = new LongLongKeyPacMap<>();
+        map.put(3, 7, "x");
+        map.put(7, 3, "y");
+        assertEquals("x", map.get(3, 7));
+        assertEquals("y", map.get(7, 3));
+    }
+}
@@ -0,0 +1,104 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `MeldablePQueue`.
+ */
+class MeldablePQueueTest {
+
+    @DisplayName("WHEN a new `MeldablePQueue` is constructed, THEN it should be empty and throw on "
+            + "`peek()` and `remove()`.")
+    @Test
+    void testEmptyAtConstruction() {
+        MeldablePQueue<String> pq = new MeldablePQueue<>();
+        assertTrue(pq.isEmpty());
+        assertEquals(0, pq.size());
+        assertThrows(NoSuchElementException.class, pq::peek);
+        assertThrows(NoSuchElementException.class, pq::minPriority);
+        assertThrows(NoSuchElementException.class, pq::remove);
+    }
+
+    @DisplayName("WHEN priorities are raised and lowered, THEN elements come out in priority "
+            + "order.")
+    @Test
+    void testUpdates() {
+        MeldablePQueue<String> pq = new MeldablePQueue<>();
+        pq.addOrUpdate("A", 1.0);
+        pq.addOrUpdate("B", 2.0);
+        pq.addOrUpdate("C", 3.0);
+        pq.addOrUpdate("A", 10.0);
+        pq.addOrUpdate("C", 0.5);
+
+        assertEquals(3, pq.size());
+        assertEquals(0.5, pq.minPriority());
+        assertEquals("C", pq.remove());
+        assertEquals("B", pq.remove());
+        assertEquals("A", pq.remove());
+        assertTrue(pq.isEmpty());
+    }
+
+    @DisplayName("WHEN random operations are applied, THEN the queue agrees with `MinPQueue`.")
+    @Test
+    void testAgreesWithMinPQueue() {
+        MeldablePQueue<Integer> pq = new MeldablePQueue<>();
+        MinPQueue<Integer> reference = new MinPQueue<>();
+        Random rng = new Random(2110);
+        for (int step = 0; step < 5000; step++) {
+            int key = rng.nextInt(300);
+            int op = rng.nextInt(4);
+            if (op < 2) {
+                double priority = rng.nextInt(1000);
+                pq.addOrUpdate(key, priority);
+                reference.addOrUpdate(key, priority);
+            } else if (op == 2 && reference.contains(key)) {
+                assertEquals(reference.remove(key), pq.remove(key));
+            } else if (!reference.isEmpty()) {
+                assertEquals(reference.minPriority(), pq.minPriority());
+                int removed = pq.remove();
+                assertFalse(pq.contains(removed));
+                reference.remove(removed);
+            }
+            assertEquals(reference.size(), pq.size());
+        }
+    }
+
+    @DisplayName("WHEN two queues are melded, THEN the result holds every element, conflicting "
+            + "elements keep the minimum priority, and the other queue is empty.")
+    @Test
+    void testMeld() {
+        MeldablePQueue<Integer> a = new MeldablePQueue<>();
+        MeldablePQueue<Integer> b = new MeldablePQueue<>();
+        for (int i = 0; i < 100; i++) {
+            a.addOrUpdate(i, i);
+        }
+        for (int i = 50; i < 120; i++) {
+            b.addOrUpdate(i, i % 2 == 0 ? i - 100 : i + 100);
+        }
+        a.meld(b);
+
+        assertTrue(b.isEmpty());
+        assertEquals(0, b.size());
+        assertEquals(120, a.size());
+        assertEquals(-50.0, a.priorityOf(50));
+        assertEquals(51.0, a.priorityOf(51));
+        assertEquals(219.0, a.priorityOf(119));
+
+        double prev = -Double.MAX_VALUE;
+        while (!a.isEmpty()) {
+            double curr = a.minPriority();
+            assertTrue(curr >= prev);
+            prev = curr;
+            a.remove();
+        }
+
+        b.addOrUpdate(1, 1.0);
+        assertEquals(1, b.peek());
+        assertThrows(IllegalArgumentException.class, () -> b.meld(b));
+    }
+}
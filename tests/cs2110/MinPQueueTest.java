@@ -2,7 +2,10 @@ package cs2110;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Random;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -338,4 +341,235 @@ class MinPQueueTest {
         MinPQueue<String> pq = new MinPQueue<>();
         assertThrows(NoSuchElementException.class, pq::minPriority);
     }
+
+    @DisplayName("WHEN `drainTo()` is called with k smaller than the size, THEN the k smallest "
+            + "elements are moved in priority order and the rest remain.")
+    @Test
+    void testDrainToPartial() {
+        MinPQueue<Integer> pq = new MinPQueue<>();
+        for (int i = 20; i >= 1; i--) {
+            pq.addOrUpdate(i, i);
+        }
+        List<Integer> out = new ArrayList<>();
+        assertEquals(5, pq.drainTo(out, 5));
+        assertEquals(List.of(1, 2, 3, 4, 5), out);
+        assertEquals(15, pq.size());
+        assertEquals(6, pq.remove());
+    }
+
+    @DisplayName("WHEN `drainTo()` moves a few or many but not all elements, THEN it moves the "
+            + "same elements as repeated `remove()` calls with fewer swaps.")
+    @Test
+    void testDrainToPartialSwaps() {
+        Random rng = new Random(27);
+        int n = 1000;
+        for (int k : new int[]{10, 500}) {
+            MinPQueue<Integer> drained = new MinPQueue<>(0.5);
+            MinPQueue<Integer> removed = new MinPQueue<>(0.5);
+            for (int i = 0; i < n; i++) {
+                double priority = rng.nextDouble();
+                drained.addOrUpdate(i, priority);
+                removed.addOrUpdate(i, priority);
+            }
+            for (int i = 0; i < n; i += 7) {
+                drained.cancel(i);
+                removed.cancel(i);
+            }
+
+            List<Integer> out = new ArrayList<>();
+            long before = drained.swapCount;
+            assertEquals(k, drained.drainTo(out, k));
+            long drainSwaps = drained.swapCount - before;
+            List<Integer> expected = new ArrayList<>();
+            before = removed.swapCount;
+            for (int i = 0; i < k; i++) {
+                expected.add(removed.remove());
+            }
+            long removeSwaps = removed.swapCount - before;
+            assertEquals(expected, out);
+            assertTrue(drainSwaps * 2 < removeSwaps);
+
+            assertEquals(removed.size(), drained.size());
+            while (!removed.isEmpty()) {
+                assertEquals(removed.minPriority(), drained.minPriority());
+                assertEquals(removed.remove(), drained.remove());
+            }
+        }
+    }
+
+    @DisplayName("WHEN `drainTo()` is called with k at least the size, THEN every element is moved "
+            + "in priority order and the queue is empty and reusable.")
+    @Test
+    void testDrainToAll() {
+        MinPQueue<String> pq = new MinPQueue<>();
+        pq.addOrUpdate("C", 3.0);
+        pq.addOrUpdate("A", 1.0);
+        pq.addOrUpdate("B", 2.0);
+        List<String> out = new ArrayList<>();
+        assertEquals(3, pq.drainTo(out, 10));
+        assertEquals(List.of("A", "B", "C"), out);
+        assertTrue(pq.isEmpty());
+
+        pq.addOrUpdate("A", 5.0);
+        assertEquals("A", pq.peek());
+    }
+
+    @DisplayName("WHEN `peekK()` is called, THEN it returns the k smallest elements in order "
+            + "without modifying the queue.")
+    @Test
+    void testPeekK() {
+        MinPQueue<Integer> pq = new MinPQueue<>();
+        int n = 200;
+        for (int i = 0; i < n; i++) {
+            pq.addOrUpdate(i, (i * 37) % n);
+        }
+        List<Integer> top = pq.peekK(10);
+        assertEquals(10, top.size());
+        assertEquals(n, pq.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(top.get(i), pq.remove());
+        }
+        assertEquals(List.of(), pq.peekK(0));
+        assertEquals(n - 10, pq.peekK(n).size());
+    }
+
+    @DisplayName("WHEN an arbitrary element is removed by key, THEN it is gone, its priority is "
+            + "returned, and the remaining elements come out in order.")
+    @Test
+    void testRemoveByKey() {
+        MinPQueue<Integer> pq = new MinPQueue<>();
+        for (int i = 0; i < 50; i++) {
+            pq.addOrUpdate(i, (i * 17) % 50);
+        }
+        for (int i = 0; i < 50; i += 3) {
+            assertEquals((i * 17) % 50, pq.remove(i));
+            assertFalse(pq.contains(i));
+        }
+        assertThrows(NoSuchElementException.class, () -> pq.remove(0));
+        assertEquals(33, pq.size());
+
+        double prev = -Double.MAX_VALUE;
+        while (!pq.isEmpty()) {
+            double curr = pq.minPriority();
+            assertTrue(curr >= prev);
+            prev = curr;
+            assertTrue(pq.remove() % 3 != 0);
+        }
+    }
+
+    @DisplayName("WHEN `contains()` and `priorityOf()` are queried, THEN they reflect the current "
+            + "contents and priorities.")
+    @Test
+    void testContainsAndPriorityOf() {
+        MinPQueue<String> pq = new MinPQueue<>();
+        pq.addOrUpdate("A", 3.0);
+        pq.addOrUpdate("B", 1.0);
+        assertTrue(pq.contains("A"));
+        assertFalse(pq.contains("C"));
+        assertEquals(3.0, pq.priorityOf("A"));
+        pq.addOrUpdate("A", 0.5);
+        assertEquals(0.5, pq.priorityOf("A"));
+        assertThrows(NoSuchElementException.class, () -> pq.priorityOf("C"));
+    }
+
+    @DisplayName("WHEN elements are cancelled in lazy mode, THEN they are invisible and skipped, "
+            + "and the heap is compacted once the threshold is passed.")
+    @Test
+    void testLazyCancellation() {
+        MinPQueue<Integer> pq = new MinPQueue<>(0.25);
+        for (int i = 0; i < 100; i++) {
+            pq.addOrUpdate(i, i);
+        }
+        for (int i = 0; i < 60; i += 2) {
+            pq.cancel(i);
+            assertFalse(pq.contains(i));
+        }
+        assertEquals(70, pq.size());
+        assertThrows(NoSuchElementException.class, () -> pq.cancel(0));
+        assertThrows(NoSuchElementException.class, () -> pq.priorityOf(0));
+
+        pq.addOrUpdate(58, 0.5); // revive a cancelled element
+        assertEquals(71, pq.size());
+        assertEquals(58, pq.peek());
+        assertEquals(58, pq.remove());
+        for (int i = 1; i < 60; i += 2) {
+            assertEquals(i, pq.remove());
+        }
+        assertEquals(60, pq.peek());
+        assertEquals(List.of(60, 61, 62), pq.peekK(3));
+        assertEquals(40, pq.size());
+    }
+
+    @DisplayName("WHEN updates are buffered, THEN queries see them immediately and removals "
+            + "return elements in the order of their latest priorities.")
+    @Test
+    void testBufferedUpdates() {
+        MinPQueue<Integer> pq = new MinPQueue<>();
+        pq.addOrUpdate(100, 50.0);
+        pq.setBuffered(true);
+        for (int i = 0; i < 20; i++) {
+            pq.addOrUpdate(i, 100 - i);
+        }
+        pq.addOrUpdate(5, 200.0); // coalesces with the earlier update of 5
+        pq.addOrUpdate(100, 0.5);
+        assertEquals(21, pq.size());
+        assertTrue(pq.contains(7));
+        assertEquals(200.0, pq.priorityOf(5));
+        assertEquals(0.5, pq.priorityOf(100));
+
+        assertEquals(100, pq.remove());
+        for (int i = 19; i >= 0; i--) {
+            if (i != 5) {
+                assertEquals(i, pq.remove());
+            }
+        }
+        assertEquals(5, pq.remove());
+        assertTrue(pq.isEmpty());
+    }
+
+    @DisplayName("WHEN a few updates are buffered into a large heap, or buffering is turned off, "
+            + "THEN they are applied and the heap stays ordered.")
+    @Test
+    void testBufferedUpdatesSmallBatch() {
+        MinPQueue<Integer> pq = new MinPQueue<>();
+        for (int i = 0; i < 1000; i++) {
+            pq.addOrUpdate(i, i);
+        }
+        pq.setBuffered(true);
+        pq.addOrUpdate(999, -1.0);
+        pq.addOrUpdate(0, 2000.0);
+        assertEquals(999, pq.peek());
+        pq.addOrUpdate(1000, -2.0);
+        pq.setBuffered(false);
+        assertEquals(1001, pq.size());
+        assertEquals(1000, pq.remove());
+        assertEquals(999, pq.remove());
+        for (int i = 1; i < 999; i++) {
+            assertEquals(i, pq.remove());
+        }
+        assertEquals(0, pq.remove());
+    }
+
+    @DisplayName("WHEN buffered updates revive lazily cancelled elements, THEN they are counted "
+            + "once and removed in order.")
+    @Test
+    void testBufferedUpdatesWithCancellation() {
+        MinPQueue<Integer> pq = new MinPQueue<>(0.5);
+        for (int i = 0; i < 10; i++) {
+            pq.addOrUpdate(i, i);
+        }
+        pq.cancel(3);
+        pq.cancel(4);
+        pq.setBuffered(true);
+        pq.addOrUpdate(3, 20.0);
+        pq.addOrUpdate(3, -1.0);
+        pq.addOrUpdate(8, -2.0);
+        assertEquals(9, pq.size());
+        assertFalse(pq.contains(4));
+
+        assertEquals(List.of(8, 3, 0), pq.peekK(3));
+        List<Integer> drained = new ArrayList<>();
+        pq.drainTo(drained, 100);
+        assertEquals(List.of(8, 3, 0, 1, 2, 5, 6, 7, 9), drained);
+    }
 }
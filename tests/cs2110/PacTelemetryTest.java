@@ -0,0 +1,142 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PacTelemetryTest {
+
+    /**
+     * A key whose instances all hash to the same bucket, to force long probe sequences.
+     */
+    private record Colliding(int id) {
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+    /**
+     * Run `workload` under a recording with every cs2110 event enabled and no duration threshold,
+     * and return the events it recorded.
+     */
+    private static List<RecordedEvent> record(Runnable workload) throws IOException {
+        Path file = Files.createTempFile("pac-telemetry", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("cs2110.PacMapResize", "cs2110.PacMapLongProbe",
+                    "cs2110.HeapOperation")) {
+                recording.enable(name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            assertTrue(PacTelemetry.active);
+            workload.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        try {
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+
+    @DisplayName("WHEN a `ProbingPacMap` grows under a recording, THEN a resize event is recorded "
+            + "for each doubling with its old and new capacities.")
+    @Test
+    void testResizeEvents() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            ProbingPacMap<Integer, Integer> map = new ProbingPacMap<>();
+            for (int i = 0; i < 1000; i++) {
+                map.put(i, i);
+            }
+        });
+        List<RecordedEvent> resizes = named(events, "cs2110.PacMapResize");
+        assertFalse(resizes.isEmpty());
+        for (RecordedEvent e : resizes) {
+            assertEquals(2 * e.getInt("oldCapacity"), e.getInt("newCapacity"));
+        }
+    }
+
+    @DisplayName("WHEN lookups in a `ProbingPacMap` probe past the threshold under a recording, "
+            + "THEN long-probe events are recorded.")
+    @Test
+    void testLongProbeEvents() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            ProbingPacMap<Colliding, Integer> map = new ProbingPacMap<>();
+            for (int i = 0; i < 2 * PacTelemetry.LONG_PROBE_THRESHOLD; i++) {
+                map.put(new Colliding(i), i);
+            }
+        });
+        List<RecordedEvent> probes = named(events, "cs2110.PacMapLongProbe");
+        assertFalse(probes.isEmpty());
+        for (RecordedEvent e : probes) {
+            assertTrue(e.getInt("probeLength") >= PacTelemetry.LONG_PROBE_THRESHOLD);
+        }
+    }
+
+    @DisplayName("WHEN a `MinPQueue` is used under a recording with no threshold, THEN its "
+            + "operations are recorded with their names and queue sizes.")
+    @Test
+    void testHeapOperationEvents() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            MinPQueue<Integer> pq = new MinPQueue<>();
+            for (int i = 0; i < 10; i++) {
+                pq.addOrUpdate(i, 10 - i);
+            }
+            pq.remove();
+        });
+        List<RecordedEvent> ops = named(events, "cs2110.HeapOperation");
+        assertEquals(11, ops.size());
+        assertEquals("remove", ops.get(ops.size() - 1).getString("operation"));
+    }
+
+    @DisplayName("WHEN a map and a queue are monitored under a recording, THEN periodic health "
+            + "and size samples are recorded for them.")
+    @Test
+    void testPeriodicSamples() throws IOException, InterruptedException {
+        ProbingPacMap<Integer, Integer> map = new ProbingPacMap<>();
+        map.put(1, 1);
+        MinPQueue<Integer> pq = new MinPQueue<>();
+        pq.addOrUpdate(1, 1);
+        PacTelemetry.monitor("test-map", map);
+        PacTelemetry.monitor("test-queue", pq);
+
+        Path file = Files.createTempFile("pac-telemetry", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("cs2110.PacMapHealth").withPeriod(Duration.ofMillis(10));
+            recording.enable("cs2110.MinPQueueSize").withPeriod(Duration.ofMillis(10));
+            recording.start();
+            Thread.sleep(200);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertTrue(named(events, "cs2110.PacMapHealth").stream()
+                .anyMatch(e -> e.getString("name").equals("test-map") && e.getInt("size") == 1));
+        assertTrue(named(events, "cs2110.MinPQueueSize").stream()
+                .anyMatch(e -> e.getString("name").equals("test-queue") && e.getInt("size") == 1));
+    }
+
+    @DisplayName("WHEN no recording is running, THEN telemetry is inactive.")
+    @Test
+    void testInactiveWithoutRecording() throws IOException {
+        record(() -> { });
+        assertFalse(PacTelemetry.active);
+    }
+}
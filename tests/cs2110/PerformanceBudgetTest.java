@@ -0,0 +1,314 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performance-regression tests for the hot paths of the map and queue classes. Each test runs a
+ * fixed workload and checks the bytes allocated per operation (measured with the JVM's per-thread
+ * allocation counter) and the probes or swaps per operation against the budgets recorded in
+ * `performance-budgets.properties`. A change that adds an allocation or extra probing to a hot
+ * path fails these tests until its budget is deliberately raised.
+ */
+class PerformanceBudgetTest {
+
+    /**
+     * The number of times each allocation workload is run; the least allocation over all rounds
+     * is reported, so that rounds run before the JIT compiler has optimized the workload do not
+     * count against it.
+     */
+    private static final int ROUNDS = 12;
+
+    /**
+     * The recorded budgets, keyed by `<workload>.<metric>`.
+     */
+    private static final Properties BUDGETS = loadBudgets();
+
+    private static Properties loadBudgets() {
+        Properties budgets = new Properties();
+        try (InputStream in = PerformanceBudgetTest.class.getResourceAsStream(
+                "/performance-budgets.properties")) {
+            if (in == null) {
+                throw new IllegalStateException("performance-budgets.properties not on classpath");
+            }
+            budgets.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return budgets;
+    }
+
+    /**
+     * Fail if `measured` exceeds the budget recorded under `key`.
+     */
+    private static void assertWithinBudget(String key, double measured) {
+        String budget = BUDGETS.getProperty(key);
+        assertNotNull(budget, "no budget recorded for " + key);
+        assertTrue(measured <= Double.parseDouble(budget),
+                key + " = " + measured + " exceeds budget " + budget);
+    }
+
+    /**
+     * Return the number of bytes allocated so far by the current thread.
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Run `ROUNDS` fresh instances of a workload of `ops` operations, each prepared (outside the
+     * measurement) by `setup`, and return the fewest bytes allocated per operation in any round.
+     */
+    private static double bytesPerOp(Supplier<Runnable> setup, int ops) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            Runnable workload = setup.get();
+            long before = allocatedBytes();
+            workload.run();
+            best = Math.min(best, allocatedBytes() - before);
+        }
+        return (double) Math.max(0, best - MEASUREMENT_OVERHEAD) / ops;
+    }
+
+    /**
+     * The bytes allocated by reading the allocation counter itself, which is subtracted from
+     * every measurement.
+     */
+    private static final long MEASUREMENT_OVERHEAD = measurementOverhead();
+
+    private static long measurementOverhead() {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = allocatedBytes();
+            best = Math.min(best, allocatedBytes() - before);
+        }
+        return best;
+    }
+
+    /**
+     * Return `n` distinct string keys.
+     */
+    private static String[] keys(int n, String prefix) {
+        String[] keys = new String[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = prefix + i;
+        }
+        return keys;
+    }
+
+    /**
+     * Return a map from each of `keys` to its index.
+     */
+    private static ProbingPacMap<String, Integer> mapOf(String[] keys) {
+        ProbingPacMap<String, Integer> map = new ProbingPacMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        return map;
+    }
+
+    @DisplayName("WHEN present keys are looked up in a `ProbingPacMap`, THEN allocation and probes "
+            + "per `get()` stay within budget.")
+    @Test
+    void testProbingPacMapGetHit() {
+        String[] keys = keys(20_000, "k");
+        ProbingPacMap<String, Integer> map = mapOf(keys);
+        assertWithinBudget("ProbingPacMap.get.hit.bytesPerOp", bytesPerOp(() -> () -> {
+            for (String key : keys) {
+                map.get(key);
+            }
+        }, keys.length));
+
+        long before = map.probeCount;
+        for (String key : keys) {
+            map.get(key);
+        }
+        assertWithinBudget("ProbingPacMap.get.hit.probesPerOp",
+                (double) (map.probeCount - before) / keys.length);
+    }
+
+    @DisplayName("WHEN absent keys are looked up in a `ProbingPacMap`, THEN allocation and probes "
+            + "per `containsKey()` stay within budget.")
+    @Test
+    void testProbingPacMapContainsKeyMiss() {
+        ProbingPacMap<String, Integer> map = mapOf(keys(20_000, "k"));
+        String[] misses = keys(20_000, "miss");
+        assertWithinBudget("ProbingPacMap.containsKey.miss.bytesPerOp", bytesPerOp(() -> () -> {
+            for (String key : misses) {
+                map.containsKey(key);
+            }
+        }, misses.length));
+
+        long before = map.probeCount;
+        for (String key : misses) {
+            map.containsKey(key);
+        }
+        assertWithinBudget("ProbingPacMap.containsKey.miss.probesPerOp",
+                (double) (map.probeCount - before) / misses.length);
+    }
+
+    @DisplayName("WHEN present keys are overwritten in a `ProbingPacMap`, THEN allocation and "
+            + "probes per `put()` stay within budget.")
+    @Test
+    void testProbingPacMapPutOverwrite() {
+        String[] keys = keys(20_000, "k");
+        ProbingPacMap<String, Integer> map = mapOf(keys);
+        Integer value = 7;
+        assertWithinBudget("ProbingPacMap.put.overwrite.bytesPerOp", bytesPerOp(() -> () -> {
+            for (String key : keys) {
+                map.put(key, value);
+            }
+        }, keys.length));
+
+        long before = map.probeCount;
+        for (String key : keys) {
+            map.put(key, value);
+        }
+        assertWithinBudget("ProbingPacMap.put.overwrite.probesPerOp",
+                (double) (map.probeCount - before) / keys.length);
+    }
+
+    @DisplayName("WHEN composite keys are looked up in a `ProbingPacMap` through a reused "
+            + "`KeyProbe`, THEN `getMatching()` allocates nothing.")
+    @Test
+    void testProbingPacMapGetMatching() {
+        int n = 20_000;
+        ProbingPacMap<ProbingPacMapTest.IntString, Integer> map = new ProbingPacMap<>();
+        String[] texts = keys(n, "t");
+        for (int i = 0; i < n; i++) {
+            map.put(new ProbingPacMapTest.IntString(i, texts[i]), i);
+        }
+        ProbingPacMapTest.IntStringProbe probe = new ProbingPacMapTest.IntStringProbe();
+        assertWithinBudget("ProbingPacMap.getMatching.bytesPerOp", bytesPerOp(() -> () -> {
+            for (int i = 0; i < n; i++) {
+                map.getMatching(probe.set(i, texts[i]));
+            }
+        }, n));
+    }
+
+    @DisplayName("WHEN pair keys are looked up and overwritten in a `LongLongKeyPacMap`, THEN "
+            + "nothing is allocated.")
+    @Test
+    void testLongLongKeyPacMap() {
+        int n = 20_000;
+        LongLongKeyPacMap<Integer> map = new LongLongKeyPacMap<>();
+        Integer value = 7;
+        for (int i = 0; i < n; i++) {
+            map.put(i, -i, value);
+        }
+        assertWithinBudget("LongLongKeyPacMap.getAndPut.bytesPerOp", bytesPerOp(() -> () -> {
+            for (int i = 0; i < n; i++) {
+                map.put(i, -i, map.get(i, -i));
+            }
+        }, n));
+    }
+
+    /**
+     * Return a `MinPQueue` holding each of `keys` with a pseudo-random priority.
+     */
+    private static MinPQueue<Integer> queueOf(Integer[] keys) {
+        MinPQueue<Integer> pq = new MinPQueue<>();
+        Random rng = new Random(35);
+        for (Integer key : keys) {
+            pq.addOrUpdate(key, rng.nextInt(1_000_000));
+        }
+        return pq;
+    }
+
+    /**
+     * Return the boxed ints `[0..n)`, so that workloads do not box their keys.
+     */
+    private static Integer[] boxedKeys(int n) {
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = i;
+        }
+        return keys;
+    }
+
+    @DisplayName("WHEN a `MinPQueue` is drained, THEN allocation and swaps per `remove()` stay "
+            + "within budget.")
+    @Test
+    void testMinPQueueRemove() {
+        Integer[] keys = boxedKeys(5_000);
+        assertWithinBudget("MinPQueue.remove.bytesPerOp", bytesPerOp(() -> {
+            MinPQueue<Integer> pq = queueOf(keys);
+            return () -> {
+                while (!pq.isEmpty()) {
+                    pq.remove();
+                }
+            };
+        }, keys.length));
+
+        MinPQueue<Integer> pq = queueOf(keys);
+        long before = pq.swapCount;
+        while (!pq.isEmpty()) {
+            pq.remove();
+        }
+        assertWithinBudget("MinPQueue.remove.swapsPerOp",
+                (double) (pq.swapCount - before) / keys.length);
+    }
+
+    @DisplayName("WHEN priorities in a `MinPQueue` are decreased, THEN allocation and swaps per "
+            + "`addOrUpdate()` stay within budget.")
+    @Test
+    void testMinPQueueDecreaseKey() {
+        Integer[] keys = boxedKeys(5_000);
+        assertWithinBudget("MinPQueue.addOrUpdate.decrease.bytesPerOp", bytesPerOp(() -> {
+            MinPQueue<Integer> pq = queueOf(keys);
+            return () -> {
+                for (Integer key : keys) {
+                    pq.addOrUpdate(key, -key);
+                }
+            };
+        }, keys.length));
+
+        MinPQueue<Integer> pq = queueOf(keys);
+        long before = pq.swapCount;
+        for (Integer key : keys) {
+            pq.addOrUpdate(key, -key);
+        }
+        assertWithinBudget("MinPQueue.addOrUpdate.decrease.swapsPerOp",
+                (double) (pq.swapCount - before) / keys.length);
+    }
+
+    @DisplayName("WHEN an `IntMinPQueue` runs a hold workload, THEN it allocates nothing.")
+    @Test
+    void testIntMinPQueueHold() {
+        int n = 5_000;
+        IntMinPQueue pq = new IntMinPQueue(n);
+        Random rng = new Random(35);
+        for (int i = 0; i < n; i++) {
+            pq.addOrUpdate(i, rng.nextDouble());
+        }
+        assertWithinBudget("IntMinPQueue.hold.bytesPerOp", bytesPerOp(() -> () -> {
+            for (int i = 0; i < n; i++) {
+                double min = pq.minPriority();
+                pq.addOrUpdate(pq.removeInt(), min + 0.5);
+            }
+        }, n));
+    }
+
+    @DisplayName("WHEN `ShortestPaths` answers repeated queries, THEN it allocates nothing per "
+            + "query.")
+    @Test
+    void testShortestPathsQuery() {
+        CsrGraph g = SyntheticGraphs.grid(60, 60, 35).graph();
+        ShortestPaths sp = new ShortestPaths(g);
+        int queries = 50;
+        assertWithinBudget("ShortestPaths.distance.bytesPerOp", bytesPerOp(() -> () -> {
+            for (int q = 0; q < queries; q++) {
+                sp.distance(q, g.vertexCount() - 1 - q);
+            }
+        }, queries));
+    }
+}
@@ -3,6 +3,9 @@ package cs2110;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
@@ -278,5 +281,252 @@ class ProbingPacMapTest {
         assertEquals(3, map.get("c")); // remaining entry is fine
     }
 
+    @DisplayName("WHEN keys are put and removed indefinitely while the size stays bounded, THEN "
+            + "the table stays bounded too.")
+    @Test
+    void testChurnDoesNotGrowTable() {
+        ProbingPacMap<Integer, Integer> map = new ProbingPacMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            map.put(i, i);
+            if (i >= 100) {
+                map.remove(i - 100);
+            }
+        }
+        assertEquals(100, map.size());
+        assertTrue(map.capacity() <= 512);
+        for (int i = 100_000 - 100; i < 100_000; i++) {
+            assertEquals(i, map.get(i));
+        }
+    }
+
+    @DisplayName("WHEN keys are looked up in a batch with `getAll()`, THEN each present key's "
+            + "value and null for each absent key are stored, and the hits are counted.")
+    @Test
+    void testGetAll() {
+        ProbingPacMap<String, Integer> map = new ProbingPacMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put("k" + i, i);
+        }
+        map.remove("k7"); // leaves a tombstone on some probe sequences
+        String[] keys = new String[100];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i % 3 == 0 ? "miss" + i : "k" + i;
+        }
+        Integer[] out = new Integer[keys.length];
+        int found = map.getAll(keys, out);
+
+        int expectedFound = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (map.containsKey(keys[i])) {
+                assertEquals(map.get(keys[i]), out[i]);
+                expectedFound++;
+            } else {
+                assertNull(out[i]);
+            }
+        }
+        assertNull(out[7]);
+        assertEquals(expectedFound, found);
+        assertThrows(IllegalArgumentException.class, () -> map.getAll(keys, new Integer[1]));
+    }
+
+    @DisplayName("WHEN colliding keys are looked up in a batch, THEN long probe sequences are "
+            + "followed to the right entries.")
+    @Test
+    void testGetAllCollisions() {
+        ProbingPacMap<StringBadHash, Integer> map = new ProbingPacMap<>();
+        StringBadHash[] keys = new StringBadHash[40];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new StringBadHash("s" + i);
+            if (i % 4 != 0) {
+                map.put(keys[i], i);
+            }
+        }
+        Integer[] out = new Integer[keys.length];
+        assertEquals(30, map.getAll(keys, out));
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i % 4 != 0 ? Integer.valueOf(i) : null, out[i]);
+        }
+    }
+
+    @DisplayName("WHEN `containsAll()` is asked about a batch of keys, THEN it reports whether "
+            + "every one of them is present.")
+    @Test
+    void testContainsAll() {
+        ProbingPacMap<String, Integer> map = new ProbingPacMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put("k" + i, i);
+        }
+        String[] present = new String[50];
+        for (int i = 0; i < present.length; i++) {
+            present[i] = "k" + (2 * i);
+        }
+        assertTrue(map.containsAll(present));
+        assertTrue(map.containsAll(new String[0]));
+        present[33] = "absent";
+        assertFalse(map.containsAll(present));
+    }
+
+    /**
+     * A composite key of an int and a string, with a hash code that a probe can compute from the
+     * components alone.
+     */
+    record IntString(int number, String text) {
+
+        @Override
+        public int hashCode() {
+            return 31 * number + text.hashCode();
+        }
+    }
+
+    /**
+     * A reusable probe for `IntString` keys.
+     */
+    static final class IntStringProbe implements KeyProbe<IntString> {
+
+        int number;
+        String text;
+
+        IntStringProbe set(int number, String text) {
+            this.number = number;
+            this.text = text;
+            return this;
+        }
+
+        @Override
+        public int keyHashCode() {
+            return 31 * number + text.hashCode();
+        }
+
+        @Override
+        public boolean matches(IntString key) {
+            return key.number() == number && key.text().equals(text);
+        }
+
+        @Override
+        public IntString toKey() {
+            return new IntString(number, text);
+        }
+    }
+
+    @DisplayName("WHEN a map with composite keys is searched and updated through a `KeyProbe`, "
+            + "THEN the probe finds the same entries as the keys themselves.")
+    @Test
+    void testKeyProbe() {
+        ProbingPacMap<IntString, Integer> map = new ProbingPacMap<>();
+        IntStringProbe probe = new IntStringProbe();
+        for (int i = 0; i < 1000; i++) {
+            map.putMatching(probe.set(i, "t" + (i % 10)), i);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.get(new IntString(i, "t" + (i % 10))));
+            assertEquals(i, map.getMatching(probe.set(i, "t" + (i % 10))));
+            assertFalse(map.containsKeyMatching(probe.set(i, "other")));
+        }
+        map.putMatching(probe.set(5, "t5"), -5);
+        assertEquals(1000, map.size());
+        assertEquals(-5, map.get(new IntString(5, "t5")));
+        map.remove(new IntString(5, "t5"));
+        assertFalse(map.containsKeyMatching(probe.set(5, "t5")));
+        assertThrows(NoSuchElementException.class, () -> map.getMatching(probe.set(5, "t5")));
+    }
+
+    /**
+     * Assert that `map` holds exactly the associations a sequence of `put()`s of `(keys[i],
+     * values[i])` would leave.
+     */
+    private static <K, V> void assertLoaded(K[] keys, V[] values, ProbingPacMap<K, V> map) {
+        ProbingPacMap<K, V> expected = new ProbingPacMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            expected.put(keys[i], values[i]);
+        }
+        assertEquals(expected.size(), map.size());
+        for (K key : expected) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @DisplayName("WHEN a `ProbingPacMap` is bulk-loaded from arrays on pools of different sizes, "
+            + "THEN it contains exactly the given associations.")
+    @Test
+    void testBulkLoadArrays() {
+        int n = 200_000;
+        String[] keys = new String[n];
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = "k" + i;
+            values[i] = i;
+        }
+        for (int threads : new int[]{1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                assertLoaded(keys, values, ProbingPacMap.bulkLoad(keys, values, pool));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @DisplayName("WHEN a bulk load contains duplicate keys, THEN the value of the last occurrence "
+            + "wins.")
+    @Test
+    void testBulkLoadDuplicates() {
+        int n = 100_000;
+        Integer[] keys = new Integer[n];
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = i % 1000;
+            values[i] = i;
+        }
+        ProbingPacMap<Integer, Integer> map = ProbingPacMap.bulkLoad(keys, values);
+        assertEquals(1000, map.size());
+        assertEquals(n - 1000 + 7, map.get(7));
+        assertLoaded(keys, values, map);
+    }
+
+    @DisplayName("WHEN bulk-loaded keys collide heavily, THEN probe sequences crossing table "
+            + "regions are still resolved and every key is retrievable.")
+    @Test
+    void testBulkLoadCollisions() {
+        int n = 20_000;
+        StringBadHash[] keys = new StringBadHash[n];
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            // Only a handful of distinct hash codes, so clusters span many regions.
+            keys[i] = new StringBadHash("x".repeat(i % 7) + i);
+            values[i] = i;
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertLoaded(keys, values, ProbingPacMap.bulkLoad(keys, values, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @DisplayName("WHEN a `ProbingPacMap` is bulk-loaded from a stream, THEN it contains each "
+            + "item's key and value, and later items win.")
+    @Test
+    void testBulkLoadStream() {
+        ProbingPacMap<Integer, String> map = ProbingPacMap.bulkLoad(
+                IntStream.range(0, 50_000).boxed(), i -> i % 20_000, i -> "v" + i,
+                ForkJoinPool.commonPool());
+        assertEquals(20_000, map.size());
+        assertEquals("v40005", map.get(5));
+        assertEquals("v39999", map.get(19_999));
+
+        ProbingPacMap<Integer, String> empty = ProbingPacMap.bulkLoad(Stream.<Integer>empty(),
+                i -> i, i -> "", ForkJoinPool.commonPool());
+        assertEquals(0, empty.size());
+    }
+
+    @DisplayName("WHEN a bulk load is given arrays of different lengths, THEN it throws an "
+            + "`IllegalArgumentException`.")
+    @Test
+    void testBulkLoadMismatchedLengths() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ProbingPacMap.bulkLoad(new String[2], new Integer[1]));
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package cs2110;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures `ShortestPaths` point-to-point queries on synthetic grid and road-like graphs with
+ * millions of edges, comparing Dijkstra and A* against a straightforward Dijkstra over a
+ * `MinPQueue<Integer>`. Run with `java cs2110.ShortestPathsBenchmark [side] [queries]`.
+ */
+public class ShortestPathsBenchmark {
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        run("grid", SyntheticGraphs.grid(side, side, 1), queries);
+        run("road", SyntheticGraphs.roadNetwork(side * side, 2), queries);
+    }
+
+    /**
+     * Time `queries` random point-to-point queries on `g` with each engine.
+     */
+    private static void run(String name, SyntheticGraphs.Embedded g, int queries) {
+        CsrGraph graph = g.graph();
+        System.out.printf("%s: %,d vertices, %,d edges%n", name, graph.vertexCount(),
+                graph.edgeCount());
+        ShortestPaths sp = new ShortestPaths(graph);
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        Random rng = new Random(3);
+        for (int q = 0; q < queries; q++) {
+            sources[q] = rng.nextInt(graph.vertexCount());
+            targets[q] = rng.nextInt(graph.vertexCount());
+        }
+
+        // Warm up each engine before timing it.
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            long start = System.nanoTime();
+            double check = 0;
+            for (int q = 0; q < queries; q++) {
+                check += minPQueueDistance(graph, sources[q], targets[q]);
+            }
+            report(report, "MinPQueue<Integer> Dijkstra", start, queries, check, 0);
+
+            start = System.nanoTime();
+            check = 0;
+            long settled = 0;
+            for (int q = 0; q < queries; q++) {
+                check += sp.distance(sources[q], targets[q]);
+                settled += sp.lastSettledCount();
+            }
+            report(report, "ShortestPaths Dijkstra", start, queries, check, settled);
+
+            start = System.nanoTime();
+            check = 0;
+            settled = 0;
+            ShortestPaths.Heuristic h = g.euclidean();
+            for (int q = 0; q < queries; q++) {
+                check += sp.distance(sources[q], targets[q], h);
+                settled += sp.lastSettledCount();
+            }
+            report(report, "ShortestPaths A*", start, queries, check, settled);
+        }
+    }
+
+    private static void report(boolean report, String engine, long start, int queries,
+            double check, long settled) {
+        if (!report) {
+            return;
+        }
+        double ms = (System.nanoTime() - start) / 1e6 / queries;
+        String work = settled == 0 ? "" : String.format("%,12d settled/query", settled / queries);
+        System.out.printf("  %-28s %9.2f ms/query  %-26s (checksum %.1f)%n", engine, ms, work,
+                check);
+    }
+
+    /**
+     * Return the distance from `source` to `target` using Dijkstra's algorithm over a
+     * `MinPQueue<Integer>`, the way callers wrote it before `ShortestPaths` existed.
+     */
+    private static double minPQueueDistance(CsrGraph g, int source, int target) {
+        double[] dist = new double[g.vertexCount()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        MinPQueue<Integer> frontier = new MinPQueue<>();
+        frontier.addOrUpdate(source, 0);
+        while (!frontier.isEmpty()) {
+            int u = frontier.remove();
+            if (u == target) {
+                break;
+            }
+            for (int e = g.firstEdge(u); e < g.endEdge(u); e++) {
+                int v = g.target(e);
+                double dv = dist[u] + g.weight(e);
+                if (dv < dist[v]) {
+                    dist[v] = dv;
+                    frontier.addOrUpdate(v, dv);
+                }
+            }
+        }
+        return dist[target];
+    }
+}
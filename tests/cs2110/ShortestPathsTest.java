@@ -0,0 +1,143 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `CsrGraph` and `ShortestPaths`.
+ */
+class ShortestPathsTest {
+
+    /**
+     * Return the distances from `source` computed by a straightforward Dijkstra over a
+     * `MinPQueue`, for use as a reference.
+     */
+    static double[] referenceDistances(CsrGraph g, int source) {
+        double[] dist = new double[g.vertexCount()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        MinPQueue<Integer> frontier = new MinPQueue<>();
+        frontier.addOrUpdate(source, 0);
+        while (!frontier.isEmpty()) {
+            int u = frontier.remove();
+            for (int e = g.firstEdge(u); e < g.endEdge(u); e++) {
+                int v = g.target(e);
+                double dv = dist[u] + g.weight(e);
+                if (dv < dist[v]) {
+                    dist[v] = dv;
+                    frontier.addOrUpdate(v, dv);
+                }
+            }
+        }
+        return dist;
+    }
+
+    @DisplayName("WHEN a graph is built from an edge list, THEN each vertex's out-edges are "
+            + "reported with their targets and weights.")
+    @Test
+    void testCsrLayout() {
+        CsrGraph g = CsrGraph.fromEdges(4, new int[]{2, 0, 0, 2}, new int[]{3, 1, 2, 0},
+                new double[]{4, 1, 2, 3});
+        assertEquals(4, g.vertexCount());
+        assertEquals(4, g.edgeCount());
+        assertEquals(2, g.outDegree(0));
+        assertEquals(0, g.outDegree(1));
+        assertEquals(2, g.outDegree(2));
+        assertEquals(g.endEdge(0), g.firstEdge(1));
+        assertEquals(1, g.target(g.firstEdge(0)));
+        assertEquals(2.0, g.weight(g.firstEdge(0) + 1));
+
+        CsrGraph r = g.reverse();
+        assertEquals(1, r.outDegree(1));
+        assertEquals(0, r.target(r.firstEdge(1)));
+        assertEquals(2, r.outDegree(0) + r.outDegree(3));
+    }
+
+    @DisplayName("WHEN an edge has a negative weight or an out-of-range endpoint, THEN building the "
+            + "graph throws IllegalArgumentException.")
+    @Test
+    void testRejectsBadEdges() {
+        assertThrows(IllegalArgumentException.class, () -> CsrGraph.fromEdges(2,
+                new int[]{0}, new int[]{1}, new double[]{-1}));
+        assertThrows(IllegalArgumentException.class, () -> CsrGraph.fromEdges(2,
+                new int[]{0}, new int[]{2}, new double[]{1}));
+    }
+
+    @DisplayName("WHEN distances are computed from a source, THEN they match a `MinPQueue` "
+            + "Dijkstra, with unreachable vertices at infinity.")
+    @Test
+    void testDistancesFromMatchReference() {
+        CsrGraph g = SyntheticGraphs.grid(30, 20, 1).graph();
+        ShortestPaths sp = new ShortestPaths(g);
+        assertArrayEquals(referenceDistances(g, 0), sp.distancesFrom(0));
+        assertArrayEquals(referenceDistances(g, 317), sp.distancesFrom(317));
+
+        CsrGraph disconnected = CsrGraph.fromEdges(3, new int[]{0}, new int[]{1},
+                new double[]{2});
+        assertArrayEquals(new double[]{0, 2, Double.POSITIVE_INFINITY},
+                new ShortestPaths(disconnected).distancesFrom(0));
+    }
+
+    @DisplayName("WHEN A* is run with an admissible heuristic, THEN it finds the same distances as "
+            + "Dijkstra while settling no more vertices.")
+    @Test
+    void testAStarMatchesDijkstra() {
+        SyntheticGraphs.Embedded grid = SyntheticGraphs.grid(40, 40, 2);
+        CsrGraph g = grid.graph();
+        ShortestPaths sp = new ShortestPaths(g);
+        ShortestPaths.Heuristic euclidean = grid.euclidean();
+        Random rng = new Random(3);
+        for (int q = 0; q < 50; q++) {
+            int s = rng.nextInt(g.vertexCount());
+            int t = rng.nextInt(g.vertexCount());
+            double expected = sp.distance(s, t);
+            int dijkstraSettled = sp.lastSettledCount();
+            assertEquals(expected, sp.distance(s, t, euclidean));
+            assertTrue(sp.lastSettledCount() <= dijkstraSettled);
+        }
+    }
+
+    @DisplayName("WHEN A* is run on a road-like graph with highways, THEN it matches Dijkstra.")
+    @Test
+    void testAStarOnRoadNetwork() {
+        SyntheticGraphs.Embedded roads = SyntheticGraphs.roadNetwork(5000, 5);
+        ShortestPaths sp = new ShortestPaths(roads.graph());
+        Random rng = new Random(6);
+        for (int q = 0; q < 30; q++) {
+            int s = rng.nextInt(roads.graph().vertexCount());
+            int t = rng.nextInt(roads.graph().vertexCount());
+            assertEquals(sp.distance(s, t), sp.distance(s, t, roads.euclidean()), 1e-9);
+        }
+    }
+
+    @DisplayName("WHEN a path is requested, THEN it runs from source to target along edges whose "
+            + "weights sum to the shortest distance.")
+    @Test
+    void testPath() {
+        CsrGraph g = SyntheticGraphs.grid(15, 15, 4).graph();
+        ShortestPaths sp = new ShortestPaths(g);
+        int[] path = sp.path(0, 224, ShortestPaths.NONE);
+        assertEquals(0, path[0]);
+        assertEquals(224, path[path.length - 1]);
+        double length = 0;
+        for (int i = 0; i + 1 < path.length; i++) {
+            double best = Double.POSITIVE_INFINITY;
+            for (int e = g.firstEdge(path[i]); e < g.endEdge(path[i]); e++) {
+                if (g.target(e) == path[i + 1]) {
+                    best = Math.min(best, g.weight(e));
+                }
+            }
+            length += best;
+        }
+        assertEquals(sp.distance(0, 224), length);
+
+        CsrGraph disconnected = CsrGraph.fromEdges(2, new int[0], new int[0], new double[0]);
+        assertEquals(0, new ShortestPaths(disconnected).path(0, 1, ShortestPaths.NONE).length);
+        assertArrayEquals(new int[]{1}, new ShortestPaths(disconnected).path(1, 1,
+                ShortestPaths.NONE));
+    }
+}
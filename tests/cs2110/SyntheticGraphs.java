@@ -0,0 +1,117 @@
+package cs2110;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generators of synthetic `CsrGraph`s for tests and benchmarks.
+ */
+final class SyntheticGraphs {
+
+    private SyntheticGraphs() {
+    }
+
+    /**
+     * A graph whose vertices have planar coordinates `(x[v], y[v])`. Every edge weight is at least
+     * `minCostPerUnit` times the Euclidean distance between its endpoints, so that
+     * `minCostPerUnit` times the straight-line distance is an admissible A* heuristic.
+     */
+    record Embedded(CsrGraph graph, double[] x, double[] y, double minCostPerUnit) {
+
+        /**
+         * Return the admissible straight-line heuristic for this graph.
+         */
+        ShortestPaths.Heuristic euclidean() {
+            return (v, t) -> minCostPerUnit * Math.hypot(x[v] - x[t], y[v] - y[t]);
+        }
+    }
+
+    /**
+     * Return a `width` by `height` grid with bidirectional edges between neighboring cells and
+     * random integer weights in `[1..10]`. Cell `(x, y)` is vertex `y * width + x`.
+     */
+    static Embedded grid(int width, int height, long seed) {
+        Random rng = new Random(seed);
+        int m = 2 * ((width - 1) * height + width * (height - 1));
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] w = new double[m];
+        double[] xs = new double[width * height];
+        double[] ys = new double[width * height];
+        int e = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int v = y * width + x;
+                xs[v] = x;
+                ys[v] = y;
+                if (x + 1 < width) {
+                    double weight = 1 + rng.nextInt(10);
+                    from[e] = v; to[e] = v + 1; w[e++] = weight;
+                    from[e] = v + 1; to[e] = v; w[e++] = weight;
+                }
+                if (y + 1 < height) {
+                    double weight = 1 + rng.nextInt(10);
+                    from[e] = v; to[e] = v + width; w[e++] = weight;
+                    from[e] = v + width; to[e] = v; w[e++] = weight;
+                }
+            }
+        }
+        return new Embedded(CsrGraph.fromEdges(width * height, from, to, w), xs, ys, 1);
+    }
+
+    /**
+     * Return a road-like graph on about `n` vertices: vertices are jittered points of a square
+     * lattice joined to their lattice neighbors by local roads (cost 1 to 2 per unit of length),
+     * with some lattice rows and columns upgraded to highways (cost 0.5 per unit of length) that
+     * skip ahead several vertices at a time. All roads are bidirectional.
+     */
+    static Embedded roadNetwork(int n, long seed) {
+        Random rng = new Random(seed);
+        int side = (int) Math.ceil(Math.sqrt(n));
+        int count = side * side;
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int v = 0; v < count; v++) {
+            xs[v] = v % side + 0.4 * rng.nextDouble();
+            ys[v] = v / side + 0.4 * rng.nextDouble();
+        }
+        int highwayEvery = 32;
+        int hop = 8;
+        int m = 4 * count + 4 * (count / hop + 1) * 2;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] w = new double[m];
+        int e = 0;
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                if (c + 1 < side) {
+                    e = addRoad(from, to, w, e, v, v + 1, (1 + rng.nextDouble()), xs, ys);
+                }
+                if (r + 1 < side) {
+                    e = addRoad(from, to, w, e, v, v + side, (1 + rng.nextDouble()), xs, ys);
+                }
+                if (r % highwayEvery == 0 && c % hop == 0 && c + hop < side) {
+                    e = addRoad(from, to, w, e, v, v + hop, 0.5, xs, ys);
+                }
+                if (c % highwayEvery == 0 && r % hop == 0 && r + hop < side) {
+                    e = addRoad(from, to, w, e, v, v + hop * side, 0.5, xs, ys);
+                }
+            }
+        }
+        return new Embedded(CsrGraph.fromEdges(count, Arrays.copyOf(from, e),
+                Arrays.copyOf(to, e), Arrays.copyOf(w, e)), xs, ys, 0.5);
+    }
+
+    /**
+     * Store a bidirectional road between `u` and `v` costing `costPerUnit` per unit of length at
+     * index `e` of the edge arrays, and return the next free index.
+     */
+    private static int addRoad(int[] from, int[] to, double[] w, int e, int u, int v,
+            double costPerUnit, double[] xs, double[] ys) {
+        double weight = costPerUnit * Math.hypot(xs[u] - xs[v], ys[u] - ys[v]);
+        from[e] = u; to[e] = v; w[e++] = weight;
+        from[e] = v; to[e] = u; w[e++] = weight;
+        return e;
+    }
+}
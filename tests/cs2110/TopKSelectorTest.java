@@ -0,0 +1,62 @@
+package cs2110;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for `TopKSelector`.
+ */
+class TopKSelectorTest {
+
+    @DisplayName("WHEN fewer than k items are offered, THEN all are retained in priority order.")
+    @Test
+    void testFewerThanK() {
+        TopKSelector<String> sel = new TopKSelector<>(5);
+        assertTrue(sel.offer("B", 2.0));
+        assertTrue(sel.offer("A", 1.0));
+        assertEquals(2, sel.size());
+        assertEquals(Double.POSITIVE_INFINITY, sel.threshold());
+        assertEquals(List.of("A", "B"), sel.toSortedList());
+    }
+
+    @DisplayName("WHEN a long stream is offered, THEN only the k smallest-priority items are "
+            + "retained.")
+    @Test
+    void testStreamSelection() {
+        TopKSelector<Integer> sel = new TopKSelector<>(10);
+        int n = 10_000;
+        for (int i = 0; i < n; i++) {
+            int v = (int) ((i * 7919L) % n);
+            sel.offer(v, v);
+        }
+        assertEquals(10, sel.size());
+        assertEquals(9.0, sel.threshold());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), sel.toSortedList());
+    }
+
+    @DisplayName("WHEN an item's priority is not below the threshold of a full selector, THEN it "
+            + "is rejected.")
+    @Test
+    void testRejectsAtThreshold() {
+        TopKSelector<String> sel = new TopKSelector<>(2);
+        sel.offer("A", 1.0);
+        sel.offer("B", 2.0);
+        assertFalse(sel.offer("C", 2.0));
+        assertFalse(sel.offer("D", 3.0));
+        assertTrue(sel.offer("E", 0.5));
+        assertEquals(List.of("E", "A"), sel.toSortedList());
+    }
+
+    @DisplayName("WHEN a selector is cleared, THEN it retains nothing.")
+    @Test
+    void testClear() {
+        TopKSelector<String> sel = new TopKSelector<>(2);
+        sel.offer("A", 1.0);
+        sel.clear();
+        assertEquals(0, sel.size());
+        assertEquals(List.of(), sel.toSortedList());
+    }
+}